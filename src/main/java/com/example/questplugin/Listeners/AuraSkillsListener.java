@@ -1,18 +1,17 @@
 package com.example.questplugin.Listeners;
 
 import com.example.questplugin.*;
+import com.example.questplugin.managers.QuestInterestRegistry;
 import com.example.questplugin.model.QuestType;
 import dev.aurelium.auraskills.api.event.skill.SkillLevelUpEvent;
 import dev.aurelium.auraskills.api.event.skill.XpGainEvent;
 
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 
 /**
  * Listener class for handling AuraSkills-related events.
  */
-public class AuraSkillsListener extends BaseListener implements Listener {
+public class AuraSkillsListener extends BaseListener {
 
     /**
      * Constructor to initialize the listener and register it with Bukkit.
@@ -28,7 +27,6 @@ public class AuraSkillsListener extends BaseListener implements Listener {
      *
      * @param event The SkillLevelUpEvent containing details about the skill level-up.
      */
-    @EventHandler
     public void onAuraSkillLevelUp(SkillLevelUpEvent event) {
         Player player = event.getPlayer();
         String skillName = event.getSkill().name().toUpperCase();
@@ -40,7 +38,6 @@ public class AuraSkillsListener extends BaseListener implements Listener {
      *
      * @param event The XpGainEvent containing details about the XP gain.
      */
-    @EventHandler
     public void onAuraXpGain(XpGainEvent event) {
         Player player = event.getPlayer();
         String skillName = event.getSkill().name();
@@ -48,6 +45,19 @@ public class AuraSkillsListener extends BaseListener implements Listener {
         handleQuestTypeAndTarget(QuestType.GAIN_SKILL_EXP, skillName, player);
     }
 
+    /**
+     * Binds the skill handlers to {@link QuestType#GAIN_SKILL_LEVEL} and {@link QuestType#GAIN_SKILL_EXP} objectives.
+     * Nothing is bound when AuraSkills is not installed.
+     *
+     * @param registry The interest registry.
+     */
+    @Override
+    public void bind(QuestInterestRegistry registry) {
+        if (plugin.getServer().getPluginManager().getPlugin("AuraSkills") == null) return;
+        registry.bindEvent(QuestType.GAIN_SKILL_LEVEL, SkillLevelUpEvent.class, this::onAuraSkillLevelUp);
+        registry.bindEvent(QuestType.GAIN_SKILL_EXP, XpGainEvent.class, this::onAuraXpGain);
+    }
+
     @Override
     protected String getEventType() {
         return "AuraSkills";
@@ -1,74 +1,176 @@
 package com.example.questplugin.Listeners;
 
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.managers.ObjectiveIndex;
+import com.example.questplugin.managers.ProgressBuffer;
+import com.example.questplugin.managers.QuestInterestRegistry;
 import com.example.questplugin.managers.QuestManager;
 import com.example.questplugin.managers.RewardHandler;
-import com.example.questplugin.model.Quest;
-import com.example.questplugin.model.QuestTemplate;
+import com.example.questplugin.model.ObjectiveTarget;
 import com.example.questplugin.model.QuestType;
+import com.example.questplugin.util.QuestTracer;
 
+import org.bukkit.Material;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 
+import java.util.List;
+import java.util.UUID;
+
 
 public abstract class BaseListener {
 
     protected final QuestPlugin plugin;
     protected final RewardHandler rewardHandler;
     protected final QuestManager questManager;
+    protected final ProgressBuffer progressBuffer;
+    protected final QuestTracer tracer;
 
     public BaseListener(QuestPlugin plugin) {
         this.plugin = plugin;
         this.rewardHandler = plugin.getRewardHandler();
         this.questManager = plugin.getQuestManager();
+        this.progressBuffer = plugin.getProgressBuffer();
+        this.tracer = plugin.getTracer();
     }
 
     /**
-     * Increment progress and notify the player of quest completion.
+     * Checks whether dispatch tracing is enabled. Guard every {@link #trace(String)} call with this so
+     * the message is only built when it will be recorded.
      *
-     * @param player The player who completed the task.
-     * @param obj  The objective to update.
+     * @return true if DISPATCH messages at DEBUG level should be traced.
      */
-    protected void incrementProgressAndNotify(Player player, QuestTemplate.Objective obj, Quest quest) {
-        obj.incrementProgress(1);
-        if (obj.getProgress() >= obj.getTargetAmount()){
-            quest.incrementProgress(1);
-        }
-        plugin.getQuestNotifier().notifyProgress(player, obj, quest);
-        rewardHandler.giveReward(player, quest, false);
+    protected boolean tracing() {
+        return tracer.isEnabled(QuestTracer.Category.DISPATCH, QuestTracer.Level.DEBUG);
+    }
+
+    /**
+     * Records a dispatch trace message. Callers must check {@link #tracing()} first.
+     *
+     * @param message The message.
+     */
+    protected void trace(String message) {
+        tracer.trace(QuestTracer.Category.DISPATCH, QuestTracer.Level.DEBUG, message);
+    }
+
+    /**
+     * Handle quests of a specific type targeting a material (e.g., block or item type).
+     *
+     * @param type     The type of quest to handle.
+     * @param material The material involved in the event.
+     * @param player   The player who performed the action.
+     */
+    protected void handleQuestTypeAndTarget(QuestType type, Material material, Player player) {
+        handleTarget(type, material, player);
+    }
+
+    /**
+     * Handle quests of a specific type targeting an entity type (e.g., mob kills, breeding).
+     *
+     * @param type       The type of quest to handle.
+     * @param entityType The entity type involved in the event.
+     * @param player     The player who performed the action.
+     */
+    protected void handleQuestTypeAndTarget(QuestType type, EntityType entityType, Player player) {
+        handleTarget(type, entityType, player);
+    }
+
+    /**
+     * Handle quests of a specific type targeting a biome.
+     *
+     * @param type   The type of quest to handle.
+     * @param biome  The biome involved in the event.
+     * @param player The player who performed the action.
+     */
+    protected void handleQuestTypeAndTarget(QuestType type, Biome biome, Player player) {
+        handleTarget(type, biome, player);
     }
 
     /**
-     * Handle quests of a specific type and target.
+     * Handle quests of a specific type and free-form target (e.g., skill or trade name).
      *
      * @param type   The type of quest to handle.
-     * @param target The target value for the quest (e.g., mob type, block type).
+     * @param target The target value for the quest (case-insensitive).
      * @param player The player who performed the action.
      */
     protected void handleQuestTypeAndTarget(QuestType type, String target, Player player) {
+        handleTarget(type, ObjectiveTarget.normalizeKey(target), player);
+    }
+
+    /**
+     * Dispatches an event key to exactly matching objectives, then to wildcard and category objectives
+     * whose compiled target accepts it.
+     *
+     * @param type   The type of quest to handle.
+     * @param key    The Material, EntityType, Biome or normalized String reported by the event.
+     * @param player The player who performed the action.
+     */
+    private void handleTarget(QuestType type, Object key, Player player) {
+        UUID uuid = player.getUniqueId();
+        // Replace quests left over from a past reset period before they take progress
+        questManager.refresh(uuid);
+        ObjectiveIndex index = questManager.getObjectiveIndex();
         // Handle player quests
-        for (Quest quest : questManager.getPlayerQuests(player.getUniqueId())){
-            if (!quest.isCompleted()){
-                quest.getQuestObjectives().forEach(obj -> {
-                    if (obj.getType() == type && obj.getTargetKey().equalsIgnoreCase(target)){
-                        incrementProgressAndNotify(player, obj, quest);
-                        plugin.debug("[" + type.toString() + "] Updated progress for " + quest.getTier() +  " quest " + quest.getId() + ": " + obj.getProgress());
-                    }
-                });
-            }
-        }
+        dispatch(index.lookup(uuid, type, key), player, 1);
+        dispatchMatching(index.lookupPatterns(uuid, type), key, player);
         // Handle global quests
-        for (Quest quest : questManager.getGlobalQuests()){
-            if (!quest.isCompleted()){
-                quest.getQuestObjectives().forEach(obj -> {
-                    if (obj.getType() == type && obj.getTargetKey().equalsIgnoreCase(target)){
-                        incrementProgressAndNotify(player, obj, quest);
-                        plugin.debug("[" + type.toString() + "] Updated progress for global quest " + quest.getId() + ": " + obj.getProgress());
-                    }
-                });
+        dispatch(index.lookupGlobal(type, key), player, 1);
+        dispatchMatching(index.lookupGlobalPatterns(type), key, player);
+    }
+
+    /**
+     * Handle quests of a specific type regardless of their target key (e.g., walking distance).
+     *
+     * @param type   The type of quest to handle.
+     * @param player The player who performed the action.
+     * @param amount The amount of progress made.
+     */
+    protected void handleQuestType(QuestType type, Player player, int amount) {
+        questManager.refresh(player.getUniqueId());
+        ObjectiveIndex index = questManager.getObjectiveIndex();
+        dispatch(index.lookupType(player.getUniqueId(), type), player, amount);
+        dispatch(index.lookupGlobalType(type), player, amount);
+    }
+
+    /**
+     * Queues progress for every indexed objective in the list. The progress buffer applies it,
+     * notifies the player and checks completion once per objective at the end of the tick.
+     *
+     * @param entries The matching index entries.
+     * @param player  The player who performed the action.
+     * @param amount  The amount of progress made.
+     */
+    private void dispatch(List<ObjectiveIndex.Entry> entries, Player player, int amount) {
+        for (int i = 0, size = entries.size(); i < size; i++) {
+            progressBuffer.add(player.getUniqueId(), entries.get(i), amount);
+        }
+    }
+
+    /**
+     * Queues one unit of progress for every pattern entry whose target accepts the event key.
+     *
+     * @param entries The candidate wildcard and category entries.
+     * @param key     The event key.
+     * @param player  The player who performed the action.
+     */
+    private void dispatchMatching(List<ObjectiveIndex.Entry> entries, Object key, Player player) {
+        for (int i = 0, size = entries.size(); i < size; i++) {
+            ObjectiveIndex.Entry entry = entries.get(i);
+            if (entry.getTarget().matches(key)) {
+                progressBuffer.add(player.getUniqueId(), entry, 1);
             }
         }
     }
 
+    /**
+     * Binds this listener's handlers to the quest types they serve. Handlers are registered with Bukkit
+     * only while a live objective of their type exists.
+     *
+     * @param registry The interest registry.
+     */
+    public abstract void bind(QuestInterestRegistry registry);
+
     /**
      * Get the event type for logging and debugging.
      *
@@ -1,10 +1,10 @@
 package com.example.questplugin.Listeners; 
 
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.managers.QuestInterestRegistry;
 import com.example.questplugin.model.QuestType;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 
@@ -12,7 +12,7 @@ import org.bukkit.event.block.BlockPlaceEvent;
  * A listener that handles block-related events such as {@link BlockBreakEvent} and {@link BlockPlaceEvent},
  * updating players' quest progress accordingly.
  */
-public class BlockEventsListener extends BaseListener implements Listener {
+public class BlockEventsListener extends BaseListener {
 
   /**
    * Creates a new instance of BlockEventsListener with the given plugin instance.
@@ -28,12 +28,11 @@ public class BlockEventsListener extends BaseListener implements Listener {
    *
    * @param event the {@link BlockBreakEvent} to handle
    */
-    @EventHandler
     public void onBlockBreak(BlockBreakEvent event) {
         if (!(event.getPlayer() instanceof Player player)) return;
 
-        String blockType = event.getBlock().getType().name();
-        plugin.debug("[BlockBreak] " + player.getName() + " broke " + blockType);
+        Material blockType = event.getBlock().getType();
+        if (tracing()) trace("[BlockBreak] " + player.getName() + " broke " + blockType);
 
         handleQuestTypeAndTarget(QuestType.MINE_BLOCK, blockType, player);
     }
@@ -43,16 +42,26 @@ public class BlockEventsListener extends BaseListener implements Listener {
    *
    * @param event the {@link BlockPlaceEvent} to handle
    */
-    @EventHandler
     public void onBlockPlace(BlockPlaceEvent event) {
         if (!(event.getPlayer() instanceof Player player)) return;
 
-        String blockType = event.getBlock().getType().name();
-        plugin.debug("[BlockPlace] " + player.getName() + " placed " + blockType);
+        Material blockType = event.getBlock().getType();
+        if (tracing()) trace("[BlockPlace] " + player.getName() + " placed " + blockType);
 
         handleQuestTypeAndTarget(QuestType.PLACE_BLOCK, blockType, player);
     }
 
+  /**
+   * Binds the break and place handlers to {@link QuestType#MINE_BLOCK} and {@link QuestType#PLACE_BLOCK} objectives.
+   *
+   * @param registry the interest registry
+   */
+    @Override
+    public void bind(QuestInterestRegistry registry) {
+        registry.bindEvent(QuestType.MINE_BLOCK, BlockBreakEvent.class, this::onBlockBreak);
+        registry.bindEvent(QuestType.PLACE_BLOCK, BlockPlaceEvent.class, this::onBlockPlace);
+    }
+
   /**
    * Gets the type of events handled by this listener.
    *
@@ -1,38 +1,32 @@
 /**
  * Handles various life-related events that trigger quest progress updates, including breeding,
- * taming, crafting, exploring biomes, trading, enchanting, brewing, consuming items, and walking distance.
+ * taming, crafting, trading, enchanting, brewing and consuming items. Movement-based objectives are
+ * handled by {@link com.example.questplugin.Listeners.MovementTracker}.
  */
 package com.example.questplugin.Listeners;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 import com.example.questplugin.QuestPlugin;
-import com.example.questplugin.model.Quest;
+import com.example.questplugin.managers.QuestInterestRegistry;
 import com.example.questplugin.model.QuestType;
 
-import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.block.Biome;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.enchantment.EnchantItemEvent;
 import org.bukkit.event.entity.EntityBreedEvent;
 import org.bukkit.event.entity.EntityTameEvent;
+import org.bukkit.event.inventory.CraftItemEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.event.player.PlayerItemConsumeEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-public class LifeEventsListener extends BaseListener implements Listener {
-
-    private final HashMap<UUID, Double> walkProgress = new HashMap<>();
+public class LifeEventsListener extends BaseListener {
 
     /**
      * Constructs the listener and binds it to the plugin.
@@ -48,12 +42,11 @@ public class LifeEventsListener extends BaseListener implements Listener {
      *
      * @param event The breeding event.
      */
-    @EventHandler
     public void onAnimalBreed(EntityBreedEvent event) {
         if (!(event.getBreeder() instanceof Player player)) return;
 
-        String type = event.getEntityType().name();
-        plugin.debug("[Breed] " + player.getName() + " bred a " + type);
+        EntityType type = event.getEntityType();
+        if (tracing()) trace("[Breed] " + player.getName() + " bred a " + type);
         handleQuestTypeAndTarget(QuestType.BREED_ANIMAL, type, player);
     }
 
@@ -62,12 +55,11 @@ public class LifeEventsListener extends BaseListener implements Listener {
      *
      * @param event The tame event.
      */
-    @EventHandler
     public void onEntityTame(EntityTameEvent event) {
         if (!(event.getOwner() instanceof Player player)) return;
 
-        String type = event.getEntityType().name();
-        plugin.debug("[Tame] " + player.getName() + " tamed a " + type);
+        EntityType type = event.getEntityType();
+        if (tracing()) trace("[Tame] " + player.getName() + " tamed a " + type);
         handleQuestTypeAndTarget(QuestType.TAME_ENTITY, type, player);
     }
 
@@ -76,72 +68,51 @@ public class LifeEventsListener extends BaseListener implements Listener {
      *
      * @param event The crafting event.
      */
-    @EventHandler
-    public void onCraft(org.bukkit.event.inventory.CraftItemEvent event) {
+    public void onCraft(CraftItemEvent event) {
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
-        String item = event.getRecipe().getResult().getType().name();
-        plugin.debug("[Craft] " + player.getName() + " crafted " + item);
+        Material item = event.getRecipe().getResult().getType();
+        if (tracing()) trace("[Craft] " + player.getName() + " crafted " + item);
         handleQuestTypeAndTarget(QuestType.CRAFT_ITEM, item, player);
     }
 
     /**
-     * Triggered when a player enters a new biome.
+     * Triggered when a player interacts with a merchant trade inventory.
      *
-     * @param event The movement event.
+     * @param event The inventory click event.
      */
-    @EventHandler
-    public void onBiomeEnter(PlayerMoveEvent event) {
-        Player player = event.getPlayer();
-        Location from = event.getFrom();
-        Location to = event.getTo();
-
-        if (to == null || (from.getBlockX() == to.getBlockX()
-                && from.getBlockY() == to.getBlockY()
-                && from.getBlockZ() == to.getBlockZ())) return;
-
-        Biome previousBiome = from.getBlock().getBiome();
-        Biome newBiome = to.getBlock().getBiome();
+public void onTradeClick(InventoryClickEvent event) {
+    if (!(event.getWhoClicked() instanceof Player player)) return;
+    if (event.getInventory().getType() != InventoryType.MERCHANT) return;
 
-        if (previousBiome == newBiome) return;
+    if (tracing()) trace(player.getName() + " interacted with a Villager trade.");
+    String target = "VILLAGER";
+    int slot = event.getRawSlot();
 
-        String biomeName = newBiome.name();
-        plugin.debug("[BiomeVisit] " + player.getName() + " entered biome: " + biomeName);
-        handleQuestTypeAndTarget(QuestType.EXPLORE_BIOME, biomeName, player);
+    if (slot == 2 && event.getCurrentItem() != null) {
+        if (tracing()) trace(player.getName() + " completed a trade!");
+        handleQuestTypeAndTarget(QuestType.TRADE, target, player);
     }
+}
 
     /**
-     * Triggered when a player interacts with a merchant trade inventory.
+     * Triggered when a player interacts with a brewing stand inventory.
      *
      * @param event The inventory click event.
      */
-@EventHandler
-public void onInventoryClick(InventoryClickEvent event) {
+public void onBrewClick(InventoryClickEvent event) {
     if (!(event.getWhoClicked() instanceof Player player)) return;
-    
-    // Handle Villager trading first as in original code
-    if (event.getInventory().getType() == InventoryType.MERCHANT) {
-        plugin.debug(player.getName() + " interacted with a Villager trade.");
-        String target = "VILLAGER";
-        int slot = event.getRawSlot();
-        
-        if (slot == 2 && event.getCurrentItem() != null) {
-            plugin.debug(player.getName() + " completed a trade!");
-            handleQuestTypeAndTarget(QuestType.TRADE, target, player);
-        }
-    } 
-    // Add Brewing Stand logic
-    else if (event.getInventory().getType() == InventoryType.BREWING) {
-        plugin.debug(player.getName() + " interacted with a Brewing Stand.");
-        
-        ItemStack[] contents = event.getInventory().getContents();
-        String target;
-        
-        if (isPotionCraft(contents)) {
-            target = "BREW_POTION";
-            plugin.debug(player.getName() + " successfully brewed a potion!");
-            handleQuestTypeAndTarget(QuestType.BREW_ITEM, target, player);
-        }
+    if (event.getInventory().getType() != InventoryType.BREWING) return;
+
+    if (tracing()) trace(player.getName() + " interacted with a Brewing Stand.");
+
+    ItemStack[] contents = event.getInventory().getContents();
+    String target;
+
+    if (isPotionCraft(contents)) {
+        target = "BREW_POTION";
+        if (tracing()) trace(player.getName() + " successfully brewed a potion!");
+        handleQuestTypeAndTarget(QuestType.BREW_ITEM, target, player);
     }
 }
 
@@ -179,7 +150,6 @@ private boolean isValidBrewable(Material material) {
 *
 * @param event The enchantment event.
 */
-@EventHandler
 public void onEnchant(EnchantItemEvent event) {
     if (!(event.getEnchanter() instanceof Player)) return;
     
@@ -208,64 +178,29 @@ public void onEnchant(EnchantItemEvent event) {
      *
      * @param event The item consumption event.
      */
-    @EventHandler
     public void onConsume(PlayerItemConsumeEvent event) {
         var player = event.getPlayer();
-        String itemName = event.getItem().getType().name();
+        Material itemName = event.getItem().getType();
 
-        plugin.debug("[ConsumeItem] " + player.getName() + " consumed " + itemName);
+        if (tracing()) trace("[ConsumeItem] " + player.getName() + " consumed " + itemName);
         handleQuestTypeAndTarget(QuestType.CONSUME_ITEM, itemName, player);
     }
 
     /**
-     * Triggered on player movement. Tracks distance walked and updates relevant quests.
+     * Binds each handler to the quest type it serves. Trading and brewing share the inventory click event
+     * but are bound separately, so a click is only inspected for the objectives someone actually has.
      *
-     * @param event The move event.
+     * @param registry The interest registry.
      */
-    @EventHandler
-    public void onMove(PlayerMoveEvent event) {
-        Player player = event.getPlayer();
-        if (event.getFrom().getBlockX() == event.getTo().getBlockX()
-                && event.getFrom().getBlockY() == event.getTo().getBlockY()
-                && event.getFrom().getBlockZ() == event.getTo().getBlockZ()) {
-            return;
-        }
-
-        double distance = event.getFrom().distance(event.getTo());
-        if (distance < 0.01) return;
-
-        UUID uuid = player.getUniqueId();
-        walkProgress.put(uuid, walkProgress.getOrDefault(uuid, 0.0) + distance);
-
-        double total = walkProgress.get(uuid);
-        int stepsToApply = (int) total;
-        if (stepsToApply < 1) return;
-
-        walkProgress.put(uuid, total % 1.0);
-
-        // Update player quests
-        for (Quest quest : questManager.getPlayerQuests(player.getUniqueId())) {
-            if (!quest.isCompleted()) {
-                quest.getQuestObjectives().forEach(obj -> {
-                    if (obj.getType() == QuestType.WALK_DISTANCE) {
-                        incrementProgressAndNotify(player, obj, quest);
-                        plugin.debug("[WALK_DISTANCE] Updated progress for " + quest.getTier() + " quest " + quest.getId() + ": " + obj.getProgress());
-                    }
-                });
-            }
-        }
-
-        // Update global quests
-        for (Quest quest : questManager.getGlobalQuests()) {
-            if (!quest.isCompleted()) {
-                quest.getQuestObjectives().forEach(obj -> {
-                    if (obj.getType() == QuestType.WALK_DISTANCE) {
-                        incrementProgressAndNotify(player, obj, quest);
-                        plugin.debug("[WALK_DISTANCE] Updated progress for global quest " + quest.getId() + ": " + obj.getProgress());
-                    }
-                });
-            }
-        }
+    @Override
+    public void bind(QuestInterestRegistry registry) {
+        registry.bindEvent(QuestType.BREED_ANIMAL, EntityBreedEvent.class, this::onAnimalBreed);
+        registry.bindEvent(QuestType.TAME_ENTITY, EntityTameEvent.class, this::onEntityTame);
+        registry.bindEvent(QuestType.CRAFT_ITEM, CraftItemEvent.class, this::onCraft);
+        registry.bindEvent(QuestType.TRADE, InventoryClickEvent.class, this::onTradeClick);
+        registry.bindEvent(QuestType.BREW_ITEM, InventoryClickEvent.class, this::onBrewClick);
+        registry.bindEvent(QuestType.ENCHANT_ITEM, EnchantItemEvent.class, this::onEnchant);
+        registry.bindEvent(QuestType.CONSUME_ITEM, PlayerItemConsumeEvent.class, this::onConsume);
     }
 
     /**
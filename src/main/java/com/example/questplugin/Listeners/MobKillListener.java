@@ -1,10 +1,10 @@
 package com.example.questplugin.Listeners;
 
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.managers.QuestInterestRegistry;
 import com.example.questplugin.model.QuestType;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDeathEvent;
 
 /**
@@ -12,7 +12,7 @@ import org.bukkit.event.entity.EntityDeathEvent;
  * updating players' quest progress accordingly for killing mobs.
  */
 
-public class MobKillListener extends BaseListener implements Listener {
+public class MobKillListener extends BaseListener {
 
   /**
    * Creates a new instance of MobKillListener with the given plugin instance.
@@ -28,15 +28,24 @@ public class MobKillListener extends BaseListener implements Listener {
    *
    * @param event the {@link EntityDeathEvent} to handle
    */
-    @EventHandler
     public void onEntityDeath(EntityDeathEvent event) {
         if (!(event.getEntity().getKiller() instanceof Player killer)) return;
 
-        String type = event.getEntityType().name();
-        plugin.debug("[Kill] " + killer.getName() + " killed " + type);
+        EntityType type = event.getEntityType();
+        if (tracing()) trace("[Kill] " + killer.getName() + " killed " + type);
         handleQuestTypeAndTarget(QuestType.KILL_MOB, type, killer);
     }
 
+  /**
+   * Binds the kill handler to {@link QuestType#KILL_MOB} objectives.
+   *
+   * @param registry the interest registry
+   */
+    @Override
+    public void bind(QuestInterestRegistry registry) {
+        registry.bindEvent(QuestType.KILL_MOB, EntityDeathEvent.class, this::onEntityDeath);
+    }
+
   /**
    * Gets the type of events handled by this listener.
    *
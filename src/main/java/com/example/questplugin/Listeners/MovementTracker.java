@@ -0,0 +1,265 @@
+package com.example.questplugin.Listeners;
+
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.managers.ObjectiveIndex;
+import com.example.questplugin.managers.QuestInterestRegistry;
+import com.example.questplugin.model.QuestType;
+import com.example.questplugin.util.QuestTracer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Samples player positions on a fixed tick interval to progress WALK_DISTANCE and EXPLORE_BIOME objectives.
+ * <p>
+ * This replaces per-packet {@code PlayerMoveEvent} handling. Each sample costs one squared-distance
+ * comparison per player, a single square root only when the player actually moved, and a biome lookup
+ * only when the player crossed into a new chunk section. Players without a movement objective (and no
+ * active global one) are skipped entirely. Per-player state lives in primitive arrays indexed by a slot
+ * that is released when the player quits. The sampling task itself only runs while some online player
+ * or global quest has a movement objective.
+ */
+public class MovementTracker extends BaseListener implements Listener, Runnable {
+
+    /**
+     * Squared distance below which a sample is treated as standing still.
+     */
+    private static final double MIN_MOVE_SQUARED = 0.0001;
+
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private int[] freeSlots = new int[16];
+    private int freeCount = 0;
+    private int nextSlot = 0;
+
+    private boolean[] tracked = new boolean[16];
+    private World[] lastWorld = new World[16];
+    private double[] lastX = new double[16];
+    private double[] lastY = new double[16];
+    private double[] lastZ = new double[16];
+    private double[] walked = new double[16];
+    private int[] lastSectionX = new int[16];
+    private int[] lastSectionY = new int[16];
+    private int[] lastSectionZ = new int[16];
+    private Biome[] lastBiome = new Biome[16];
+
+    /**
+     * Reused for every position read to avoid allocating a Location per player per sample.
+     */
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    /**
+     * Samples further apart than this are treated as teleports and only reset the baseline.
+     */
+    private final double maxSampleDistanceSquared;
+
+    private QuestInterestRegistry registry;
+    private BukkitTask task;
+
+    /**
+     * Constructs the tracker and binds it to the plugin.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public MovementTracker(QuestPlugin plugin) {
+        super(plugin);
+        double maxDistance = plugin.getConfig().getDouble("Movement.MaxSampleDistance", 64.0);
+        this.maxSampleDistanceSquared = maxDistance * maxDistance;
+    }
+
+    /**
+     * Gets the configured number of ticks between position samples.
+     *
+     * @return The sample interval in ticks.
+     */
+    public long getSampleInterval() {
+        return Math.max(1L, plugin.getConfig().getLong("Movement.SampleInterval", 10L));
+    }
+
+    /**
+     * Starts or stops the sampling task to match whether any movement objective is live.
+     */
+    private void refresh() {
+        boolean active = registry.isActive(QuestType.WALK_DISTANCE) || registry.isActive(QuestType.EXPLORE_BIOME);
+        if (active && task == null) {
+            // Positions sampled before the pause are stale; start every player from a fresh baseline
+            Arrays.fill(tracked, false);
+            long interval = getSampleInterval();
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this, interval, interval);
+            tracer.trace(QuestTracer.Category.DISPATCH, QuestTracer.Level.INFO, () -> "[Movement] Sampling started");
+        } else if (!active && task != null) {
+            task.cancel();
+            task = null;
+            tracer.trace(QuestTracer.Category.DISPATCH, QuestTracer.Level.INFO, () -> "[Movement] Sampling stopped");
+        }
+    }
+
+    /**
+     * Binds the sampling task to {@link QuestType#WALK_DISTANCE} and {@link QuestType#EXPLORE_BIOME} objectives.
+     *
+     * @param registry The interest registry.
+     */
+    @Override
+    public void bind(QuestInterestRegistry registry) {
+        this.registry = registry;
+        registry.bind(QuestType.WALK_DISTANCE, this::refresh, this::refresh);
+        registry.bind(QuestType.EXPLORE_BIOME, this::refresh, this::refresh);
+    }
+
+    /**
+     * Samples every online player with an active movement objective. Runs on the main thread.
+     */
+    @Override
+    public void run() {
+        ObjectiveIndex index = questManager.getObjectiveIndex();
+        boolean globalWalk = !index.lookupGlobalType(QuestType.WALK_DISTANCE).isEmpty();
+        boolean globalBiome = !index.lookupGlobalType(QuestType.EXPLORE_BIOME).isEmpty();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            UUID uuid = player.getUniqueId();
+            boolean walk = globalWalk || !index.lookupType(uuid, QuestType.WALK_DISTANCE).isEmpty();
+            boolean biome = globalBiome || !index.lookupType(uuid, QuestType.EXPLORE_BIOME).isEmpty();
+            if (!walk && !biome) {
+                Integer slot = slots.get(uuid);
+                if (slot != null) tracked[slot] = false;
+                continue;
+            }
+            sample(player, slotFor(uuid), walk, biome);
+        }
+    }
+
+    /**
+     * Compares a player's current position with their previous sample and reports progress.
+     *
+     * @param player The player to sample.
+     * @param slot   The player's state slot.
+     * @param walk   Whether the player has a walk distance objective.
+     * @param biome  Whether the player has a biome exploration objective.
+     */
+    private void sample(Player player, int slot, boolean walk, boolean biome) {
+        Location loc = player.getLocation(scratch);
+        World world = loc.getWorld();
+        double x = loc.getX();
+        double y = loc.getY();
+        double z = loc.getZ();
+        int sectionX = loc.getBlockX() >> 4;
+        int sectionY = loc.getBlockY() >> 4;
+        int sectionZ = loc.getBlockZ() >> 4;
+
+        if (!tracked[slot] || lastWorld[slot] != world) {
+            tracked[slot] = true;
+            lastWorld[slot] = world;
+            lastX[slot] = x;
+            lastY[slot] = y;
+            lastZ[slot] = z;
+            walked[slot] = 0;
+            lastSectionX[slot] = sectionX;
+            lastSectionY[slot] = sectionY;
+            lastSectionZ[slot] = sectionZ;
+            lastBiome[slot] = world == null ? null : world.getBiome(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+            return;
+        }
+
+        double dx = x - lastX[slot];
+        double dy = y - lastY[slot];
+        double dz = z - lastZ[slot];
+        double distanceSquared = dx * dx + dy * dy + dz * dz;
+        lastX[slot] = x;
+        lastY[slot] = y;
+        lastZ[slot] = z;
+
+        if (distanceSquared < MIN_MOVE_SQUARED) return;
+
+        if (walk && distanceSquared <= maxSampleDistanceSquared) {
+            walked[slot] += Math.sqrt(distanceSquared);
+            int steps = (int) walked[slot];
+            if (steps >= 1) {
+                walked[slot] -= steps;
+                handleQuestType(QuestType.WALK_DISTANCE, player, steps);
+            }
+        }
+
+        if (sectionX == lastSectionX[slot] && sectionY == lastSectionY[slot] && sectionZ == lastSectionZ[slot]) return;
+        lastSectionX[slot] = sectionX;
+        lastSectionY[slot] = sectionY;
+        lastSectionZ[slot] = sectionZ;
+
+        Biome current = world.getBiome(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+        Biome previous = lastBiome[slot];
+        lastBiome[slot] = current;
+        if (!biome || current == previous) return;
+
+        if (tracing()) trace("[BiomeVisit] " + player.getName() + " entered biome: " + current.name());
+        handleQuestTypeAndTarget(QuestType.EXPLORE_BIOME, current, player);
+    }
+
+    /**
+     * Returns the player's state slot, allocating one on first use.
+     *
+     * @param uuid The player's UUID.
+     * @return The slot index into the state arrays.
+     */
+    private int slotFor(UUID uuid) {
+        Integer existing = slots.get(uuid);
+        if (existing != null) return existing;
+
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot++;
+        if (slot >= tracked.length) grow(tracked.length * 2);
+        tracked[slot] = false;
+        slots.put(uuid, slot);
+        return slot;
+    }
+
+    /**
+     * Grows every state array to the given capacity.
+     *
+     * @param capacity The new capacity.
+     */
+    private void grow(int capacity) {
+        tracked = Arrays.copyOf(tracked, capacity);
+        lastWorld = Arrays.copyOf(lastWorld, capacity);
+        lastX = Arrays.copyOf(lastX, capacity);
+        lastY = Arrays.copyOf(lastY, capacity);
+        lastZ = Arrays.copyOf(lastZ, capacity);
+        walked = Arrays.copyOf(walked, capacity);
+        lastSectionX = Arrays.copyOf(lastSectionX, capacity);
+        lastSectionY = Arrays.copyOf(lastSectionY, capacity);
+        lastSectionZ = Arrays.copyOf(lastSectionZ, capacity);
+        lastBiome = Arrays.copyOf(lastBiome, capacity);
+    }
+
+    /**
+     * Releases a player's state slot when they leave.
+     *
+     * @param event The quit event.
+     */
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        Integer slot = slots.remove(event.getPlayer().getUniqueId());
+        if (slot == null) return;
+        tracked[slot] = false;
+        lastWorld[slot] = null;
+        lastBiome[slot] = null;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * @return The listener category name for internal logging/debugging.
+     */
+    @Override
+    protected String getEventType() {
+        return "Movement";
+    }
+}
@@ -1,16 +1,13 @@
 package com.example.questplugin.Listeners;
 
-import java.util.List;
 import java.util.UUID;
 
-import com.example.questplugin.model.Quest;
 import com.example.questplugin.QuestPlugin;
-import com.example.questplugin.model.QuestTier;
-import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 public class PlayerJoinListener implements Listener {
 
@@ -20,29 +17,40 @@ public class PlayerJoinListener implements Listener {
         this.plugin = plugin;
     }
 
+/**
+ * Loads the player's quests while they log in, off the main thread.
+ *
+ * @param event The pre-login event.
+ */
+@EventHandler
+public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+    if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+    if (!plugin.getPlayerCache().preload(event.getUniqueId())) {
+        event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, "Your quest data could not be loaded. Please try again shortly.");
+    }
+}
+
+/**
+ * Makes the player's loaded quests resident and indexes their objectives, assigning new quests if they have none.
+ *
+ * @param event The join event.
+ */
 @EventHandler
 public void onPlayerJoin(PlayerJoinEvent event) {
-    Player player = event.getPlayer();
-    UUID uuid = player.getUniqueId();
-
-    Bukkit.getScheduler().runTaskLater(plugin, () -> {
-        List<Quest> daily = plugin.getQuestManager().getPlayerDailyQuests(uuid);
-        List<Quest> weekly = plugin.getQuestManager().getPlayerWeeklyQuests(uuid);
-
-        if (daily.isEmpty()) {
-            List<Quest> newDaily = plugin.getQuestAssigner().getRandomQuestsWeighted(uuid, QuestTier.DAILY, 5);
-            plugin.getQuestManager().assignNewDailyQuests(uuid, newDaily);
-            plugin.debug("[JoinAssign] Assigned new DAILY quests to " + uuid);
-        }
-
-        if (weekly.isEmpty()) {
-            List<Quest> newWeekly = plugin.getQuestAssigner().getRandomQuestsWeighted(uuid, QuestTier.WEEKLY, 7);
-            plugin.getQuestManager().assignNewWeeklyQuests(uuid, newWeekly);
-            plugin.debug("[JoinAssign] Assigned new WEEKLY quests to " + uuid);
-        }
-
-        // Assign global quests
-        plugin.getQuestManager().assignGlobalQuests(uuid, plugin.getQuestManager().getGlobalQuests());
-    }, 20L); // Delay to ensure data is loaded
+    plugin.getPlayerCache().attach(event.getPlayer().getUniqueId());
+}
+
+/**
+ * Removes the player's objectives from the index so quest handlers nobody online needs are unregistered,
+ * and keeps their quests loaded for a grace period in case they come back.
+ *
+ * @param event The quit event.
+ */
+@EventHandler
+public void onPlayerQuit(PlayerQuitEvent event) {
+    UUID uuid = event.getPlayer().getUniqueId();
+    plugin.getQuestManager().unindexPlayer(uuid);
+    plugin.getQuestNotifier().clear(uuid);
+    plugin.getPlayerCache().detach(uuid);
+}
 }
-} 
@@ -5,7 +5,9 @@ import com.example.questplugin.commands.DevCommands;
 import com.example.questplugin.commands.QuestCommand;
 import com.example.questplugin.managers.*;
 import com.example.questplugin.ui.QuestGUI;
+import com.example.questplugin.util.EntityCategoryMatcher;
 import com.example.questplugin.util.QuestNotifier;
+import com.example.questplugin.util.QuestTracer;
 import com.example.questplugin.util.RarityRoller;
 
 import org.bukkit.configuration.file.FileConfiguration;
@@ -22,8 +24,6 @@ import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 
 public class QuestPlugin extends JavaPlugin {
 
-    private QuestCompletionConfig questCompletionConfig;
-
     /**
      * Quest manager to handle quest assignment, progress, and completion.
      */
@@ -39,6 +39,16 @@ public class QuestPlugin extends JavaPlugin {
      */
     private QuestStorageManager questStorage;
 
+    /**
+     * Keeps quest data loaded only for online and recently offline players.
+     */
+    private PlayerCache playerCache;
+
+    /**
+     * Tracks the current daily and weekly reset epochs.
+     */
+    private ResetClock resetClock;
+
     /**
      * Leaderboard manager to handle player rankings based on quest completion.
      */
@@ -59,6 +69,11 @@ public class QuestPlugin extends JavaPlugin {
      */
     private boolean debugMode;
 
+    /**
+     * Per-subsystem debug tracing with an in-memory ring buffer.
+     */
+    private QuestTracer tracer;
+
     /**
      * Adventure platform for advanced player messaging using Adventure framework.
      */
@@ -86,6 +101,21 @@ public class QuestPlugin extends JavaPlugin {
 
     private QuestCompletionListener questCompletionListener;
 
+    /**
+     * Buffer that batches objective progress reported during a tick into a single flush.
+     */
+    private ProgressBuffer progressBuffer;
+
+    /**
+     * Registers quest event handlers only while someone has an objective that needs them.
+     */
+    private QuestInterestRegistry interestRegistry;
+
+    /**
+     * Samples player positions for walk distance and biome exploration objectives.
+     */
+    private MovementTracker movementTracker;
+
     @Override
     public void onEnable() {
         loadConfig();
@@ -98,6 +128,7 @@ public class QuestPlugin extends JavaPlugin {
         }
 
         loadQuestData();
+        scheduleTasks();
 
         log("QuestPlugin enabled.");
     }
@@ -110,14 +141,8 @@ public class QuestPlugin extends JavaPlugin {
         saveDefaultConfig();
         FileConfiguration config = getConfig();
         this.debugMode = config.getBoolean("Debug", false);
-
-        try {
-            questCompletionConfig = new QuestCompletionConfig(this);
-            debug("Quest completion loaded succesfully");
-        } catch (Exception e) {
-            getLogger().severe("Falied to load quest completion file");
-        }
-
+        this.tracer = new QuestTracer(this);
+        EntityCategoryMatcher.load(this);
     }
 
     /**
@@ -125,16 +150,20 @@ public class QuestPlugin extends JavaPlugin {
      */
     public void setupAssignments() {
         log("[Init] Loading managers...");
+        this.interestRegistry = new QuestInterestRegistry(this);
         this.questLoader = new QuestLoader(this);
+        this.resetClock = new ResetClock(this);
         this.questStorage = new QuestStorageManager(this);
         this.questManager = new QuestManager(this);
+        this.playerCache = new PlayerCache(this);
         this.leaderboardManager = new LeaderboardManager(this);
         this.rarityRoller = new RarityRoller(this);
         this.adventure = BukkitAudiences.create(this);
         this.questAssigner = new QuestAssigner(this);
         this.questNotifier = new QuestNotifier(this);
         this.rewardHandler = new RewardHandler(this);
-        this.questCompletionListener = new QuestCompletionListener();
+        this.progressBuffer = new ProgressBuffer(this);
+        this.questCompletionListener = new QuestCompletionListener(this);
         instance = this;
     }
 
@@ -144,12 +173,19 @@ public class QuestPlugin extends JavaPlugin {
     public void registerListeners() {
         log("[Init] Registering event listeners...");
         getServer().getPluginManager().registerEvents(new QuestGUI(this), this);
-        getServer().getPluginManager().registerEvents(new MobKillListener(this), this);
-        getServer().getPluginManager().registerEvents(new BlockEventsListener(this), this);
-        getServer().getPluginManager().registerEvents(new LifeEventsListener(this), this);
-        getServer().getPluginManager().registerEvents(new AuraSkillsListener(this), this);
+        // Quest handlers are bound per QuestType and registered on demand by the interest registry
+        new MobKillListener(this).bind(interestRegistry);
+        new BlockEventsListener(this).bind(interestRegistry);
+        new LifeEventsListener(this).bind(interestRegistry);
+        new AuraSkillsListener(this).bind(interestRegistry);
+        this.movementTracker = new MovementTracker(this);
+        movementTracker.bind(interestRegistry);
+        getServer().getPluginManager().registerEvents(movementTracker, this);
         getServer().getPluginManager().registerEvents(new PlayerJoinListener(this), this);
-        getServer().getPluginManager().registerEvents(new QuestCompletionListener(), this);
+        // Subscribers to quest transition events
+        getServer().getPluginManager().registerEvents(questCompletionListener, this);
+        getServer().getPluginManager().registerEvents(questNotifier, this);
+        getServer().getPluginManager().registerEvents(leaderboardManager, this);
     }
 
     /**
@@ -162,23 +198,60 @@ public class QuestPlugin extends JavaPlugin {
     }
 
     /**
-     * Loads saved quest data and ensures initial quest assignments upon startup.
+     * Restores global quests upon startup. Player quests are loaded when players join, and any reset they
+     * missed is applied then; players already online, e.g. after a reload, are loaded here.
      */
     public void loadQuestData() {
         log("[Init] Loading saved quest data...");
-        questStorage.loadIntoManager(questManager);
+        questManager.ensureInitialAssignments();
+        for (org.bukkit.entity.Player player : getServer().getOnlinePlayers()) {
+            playerCache.attach(player.getUniqueId());
+        }
 
-        questManager.checkResetOnStartup();
+        // Fold progress replayed from the journal into the stored snapshot right away
+        ProgressJournal journal = questStorage.getJournal();
+        if (journal.getReplayedCount() > 0) {
+            journal.checkpoint();
+        }
+        journal.clearReplay();
+    }
 
-        questManager.ensureInitialAssignments();
+    /**
+     * Schedules the plugin's repeating background tasks.
+     */
+    public void scheduleTasks() {
+        // Apply progress batched by listeners once per tick
+        getServer().getScheduler().runTaskTimer(this, progressBuffer::flush, 1L, 1L);
+        // Send coalesced progress and completion notifications
+        long notifyInterval = questNotifier.getInterval();
+        getServer().getScheduler().runTaskTimer(this, questNotifier, notifyInterval, notifyInterval);
+        // Publish global progress snapshots into the shared objectives once per second
+        getServer().getScheduler().runTaskTimer(this, () -> questManager.getGlobalProgress().publish(), 20L, 20L);
+        // Sleep until the next daily or weekly reset; players pick up new quests the next time theirs are read
+        resetClock.start();
+        // Unload players who have been offline longer than the grace period
+        getServer().getScheduler().runTaskTimer(this, playerCache::evictExpired, 600L, 600L);
+        // Queue changed player quest data for writing and compact the progress journal behind it
+        long autosave = getConfig().getLong("Storage.AutosaveInterval", 300L) * 20L;
+        if (autosave > 0) {
+            getServer().getScheduler().runTaskTimer(this, questStorage.getJournal()::checkpoint, autosave, autosave);
+        }
     }
 
     @Override
     public void onDisable() {
         log("[Shutdown] Saving player and global quest data...");
+        if (resetClock != null) {
+            resetClock.stop();
+        }
         if (questManager != null) {
-            questStorage.saveFromManager(questManager);
-            questManager.saveGlobalQuests();
+            progressBuffer.flush();
+            questManager.getGlobalProgress().publish();
+            // Saves changed players and global quests and, once everything is written, clears the journal
+            questStorage.getJournal().checkpoint();
+        }
+        if (questStorage != null) {
+            questStorage.close();
         }
         if (this.adventure != null) {
             this.adventure.close();
@@ -196,12 +269,15 @@ public class QuestPlugin extends JavaPlugin {
     }
 
     /**
-     * Logs debug messages if debugMode is enabled.
+     * Traces a general debug message if the GENERAL trace category is enabled.
+     * Hot paths should guard with {@link QuestTracer#isEnabled} instead, so the message is never built.
      *
      * @param message The debug message to potentially log.
      */
     public void debug(String message) {
-        if (debugMode) log("[DEBUG] " + message);
+        if (tracer.isEnabled(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG)) {
+            tracer.trace(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG, message);
+        }
     }
 
     /**
@@ -257,6 +333,15 @@ public QuestStorageManager getQuestStorage() {
     return questStorage;
 }
 
+/**
+ * Gets the {@link PlayerCache} that loads players on join and unloads them after they quit.
+ *
+ * @return the player cache instance
+ */
+public PlayerCache getPlayerCache() {
+    return playerCache;
+}
+
 /**
  * Gets the {@link LeaderboardManager} responsible for tracking and displaying player rankings.
  *
@@ -311,6 +396,24 @@ public QuestAssigner getQuestAssigner() {
     return questAssigner;
 }
 
+/**
+ * Gets the {@link ResetClock} holding the current daily and weekly reset epochs.
+ *
+ * @return the reset clock instance
+ */
+public ResetClock getResetClock() {
+    return resetClock;
+}
+
+/**
+ * Gets the {@link QuestTracer} used for per-subsystem debug tracing.
+ *
+ * @return the tracer instance
+ */
+public QuestTracer getTracer() {
+    return tracer;
+}
+
 /**
  * Gets the {@link QuestNotifier} used to send notifications and updates about quests to players.
  *
@@ -320,6 +423,24 @@ public QuestNotifier getQuestNotifier() {
     return questNotifier;
 }
 
+/**
+ * Gets the {@link ProgressBuffer} that batches objective progress into one flush per tick.
+ *
+ * @return the progress buffer instance
+ */
+public ProgressBuffer getProgressBuffer() {
+    return progressBuffer;
+}
+
+/**
+ * Gets the {@link QuestInterestRegistry} that registers quest handlers per {@link com.example.questplugin.model.QuestType} on demand.
+ *
+ * @return the interest registry instance
+ */
+public QuestInterestRegistry getInterestRegistry() {
+    return interestRegistry;
+}
+
 /**
  * Gets the {@link RewardHandler} responsible for distributing rewards when quests are completed.
  *
@@ -342,8 +463,4 @@ public RewardHandler getRewardHandler() {
     public QuestCompletionListener getQuestCompletionListener(){
         return questCompletionListener;
     }
-
-    public QuestCompletionConfig getCompletionConfig() {
-        return questCompletionConfig;
-    }
 }
\ No newline at end of file
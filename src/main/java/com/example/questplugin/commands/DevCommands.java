@@ -2,13 +2,26 @@ package com.example.questplugin.commands;
 
 import com.example.questplugin.model.Quest;
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.managers.PlayerCache;
+import com.example.questplugin.managers.ProgressJournal;
+import com.example.questplugin.managers.QuestStorageManager;
+import com.example.questplugin.managers.ResetClock;
+import com.example.questplugin.managers.QuestWriteBehind;
+import com.example.questplugin.managers.StorageBenchmark;
+import com.example.questplugin.managers.YamlStorageBackend;
 import com.example.questplugin.model.QuestTemplate;
+import com.example.questplugin.model.QuestTier;
+import com.example.questplugin.util.QuestTracer;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.Arrays;
+import java.util.List;
+
 public class DevCommands implements CommandExecutor {
 
     private final QuestPlugin plugin;
@@ -46,6 +59,11 @@ public class DevCommands implements CommandExecutor {
         if (args.length == 0) {
             player.sendMessage(ChatColor.YELLOW + "/questdev reload - Reload quests");
             player.sendMessage(ChatColor.YELLOW + "/questdev give <quest_id> - Give quest");
+            player.sendMessage(ChatColor.YELLOW + "/questdev trace [count|category|clear] - Show recent trace messages");
+            player.sendMessage(ChatColor.YELLOW + "/questdev trace <category> <level> - Set a trace level");
+            player.sendMessage(ChatColor.YELLOW + "/questdev storage - Show storage queue metrics");
+            player.sendMessage(ChatColor.YELLOW + "/questdev storage convert <yaml|binary> - Rewrite player files in a format");
+            player.sendMessage(ChatColor.YELLOW + "/questdev storage bench [players] - Compare YAML and binary codecs");
             return true;
         }
 
@@ -60,19 +78,128 @@ public class DevCommands implements CommandExecutor {
                     return true;
                 }
                 String id = args[1];
-                QuestTemplate template = plugin.getQuestLoader().getAllTemplates().stream()
-                    .filter(q -> q.toQuest().getId().equalsIgnoreCase(id))
-                    .findFirst().orElse(null);
+                QuestTemplate template = plugin.getQuestLoader().getRegistry().getIgnoreCase(id);
                 if (template == null) {
                     player.sendMessage(ChatColor.RED + "Quest not found.");
                     return true;
                 }
                 Quest quest = template.toQuest();
-                plugin.getQuestManager().getPlayerDailyQuests(player.getUniqueId()).add(quest);
+                plugin.getQuestManager().giveDevQuest(player.getUniqueId(), quest);
                 player.sendMessage(ChatColor.GREEN + "Given quest: " + quest.getDescription());
             }
+            case "trace" -> handleTrace(player, args);
+            case "storage" -> handleStorage(player, args);
         }
 
         return true;
     }
+
+    /**
+     * Shows the dirty set and write-behind queue counters of the player quest storage, converts player
+     * files between formats, or benchmarks the player file codecs.
+     *
+     * @param player The player who ran the command.
+     * @param args   The command arguments; args[0] is "storage".
+     */
+    private void handleStorage(Player player, String[] args) {
+        if (args.length >= 2 && args[1].equalsIgnoreCase("convert")) {
+            if (args.length < 3 || !(args[2].equalsIgnoreCase("yaml") || args[2].equalsIgnoreCase("binary"))) {
+                player.sendMessage(ChatColor.RED + "Usage: /questdev storage convert <yaml|binary>");
+                return;
+            }
+            if (!(plugin.getQuestStorage().getBackend() instanceof YamlStorageBackend)) {
+                player.sendMessage(ChatColor.RED + "Converting only applies to the YAML storage backend.");
+                return;
+            }
+            boolean toBinary = args[2].equalsIgnoreCase("binary");
+            boolean queued = plugin.getQuestStorage().convertAll(toBinary, (converted, failed) ->
+                    Bukkit.getScheduler().runTask(plugin, () -> player.sendMessage(ChatColor.GREEN + "Converted " + converted
+                            + " player files to " + (toBinary ? "binary" : "YAML") + (failed > 0 ? ChatColor.RED + " (" + failed + " failed)" : ""))));
+            player.sendMessage(queued ? ChatColor.YELLOW + "Converting player files..." : ChatColor.RED + "Storage is busy, try again shortly.");
+            return;
+        }
+        if (args.length >= 2 && args[1].equalsIgnoreCase("bench")) {
+            int players = args.length >= 3 && args[2].matches("\\d{1,6}") ? Math.max(1, Integer.parseInt(args[2])) : 2000;
+            List<QuestTemplate> templates = List.copyOf(plugin.getQuestLoader().getAllTemplates());
+            player.sendMessage(ChatColor.YELLOW + "Benchmarking player file codecs with " + players + " players...");
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                List<String> report = StorageBenchmark.run(templates, players);
+                Bukkit.getScheduler().runTask(plugin, () -> report.forEach(line -> player.sendMessage(ChatColor.GOLD + line)));
+            });
+            return;
+        }
+
+        QuestStorageManager storage = plugin.getQuestStorage();
+        QuestWriteBehind writeBehind = storage.getWriteBehind();
+        player.sendMessage(ChatColor.GOLD + "Quest storage:");
+        player.sendMessage(ChatColor.YELLOW + "Dirty players: " + ChatColor.WHITE + storage.getDirtyCount());
+        player.sendMessage(ChatColor.YELLOW + "Pending writes: " + ChatColor.WHITE + writeBehind.getPendingCount());
+        player.sendMessage(ChatColor.YELLOW + "Submitted: " + ChatColor.WHITE + writeBehind.getSubmittedCount()
+                + ChatColor.YELLOW + " Coalesced: " + ChatColor.WHITE + writeBehind.getCoalescedCount());
+        player.sendMessage(ChatColor.YELLOW + "Written: " + ChatColor.WHITE + writeBehind.getWrittenCount()
+                + ChatColor.YELLOW + " in " + ChatColor.WHITE + writeBehind.getBatchCount() + ChatColor.YELLOW + " batches"
+                + (writeBehind.getFailedCount() > 0 ? ChatColor.RED + " (" + writeBehind.getFailedCount() + " failed)" : ""));
+        ProgressJournal journal = storage.getJournal();
+        player.sendMessage(ChatColor.YELLOW + "Journal: " + ChatColor.WHITE + journal.getAppendedCount()
+                + ChatColor.YELLOW + " records, segment " + ChatColor.WHITE + journal.getGeneration());
+        PlayerCache cache = plugin.getPlayerCache();
+        player.sendMessage(ChatColor.YELLOW + "Loaded players: " + ChatColor.WHITE + plugin.getQuestManager().getAllPlayers().size()
+                + ChatColor.YELLOW + " (" + ChatColor.WHITE + cache.getOfflineCount() + ChatColor.YELLOW + " offline, "
+                + ChatColor.WHITE + cache.getLoadingCount() + ChatColor.YELLOW + " loading)");
+        ResetClock clock = plugin.getResetClock();
+        player.sendMessage(ChatColor.YELLOW + "Next daily reset: " + ChatColor.WHITE + clock.getNextReset(QuestTier.DAILY));
+        player.sendMessage(ChatColor.YELLOW + "Next weekly reset: " + ChatColor.WHITE + clock.getNextReset(QuestTier.WEEKLY));
+    }
+
+    /**
+     * Handles {@code /questdev trace}: dumps the trace ring buffer, clears it, or changes a category level.
+     *
+     * @param player The player who ran the command.
+     * @param args   The command arguments, starting with "trace".
+     */
+    private void handleTrace(Player player, String[] args) {
+        QuestTracer tracer = plugin.getTracer();
+
+        if (args.length >= 2 && args[1].equalsIgnoreCase("clear")) {
+            tracer.clear();
+            player.sendMessage(ChatColor.GREEN + "Cleared trace buffer.");
+            return;
+        }
+
+        QuestTracer.Category category = null;
+        if (args.length >= 2 && !args[1].matches("\\d{1,4}")) {
+            try {
+                category = QuestTracer.Category.valueOf(args[1].toUpperCase());
+            } catch (IllegalArgumentException e) {
+                player.sendMessage(ChatColor.RED + "Unknown category. Use one of: " + Arrays.toString(QuestTracer.Category.values()));
+                return;
+            }
+        }
+
+        if (category != null && args.length >= 3) {
+            QuestTracer.Level level = QuestTracer.parseLevel(args[2], null);
+            if (level == null) {
+                player.sendMessage(ChatColor.RED + "Unknown level. Use one of: " + Arrays.toString(QuestTracer.Level.values()));
+                return;
+            }
+            tracer.setLevel(category, level);
+            player.sendMessage(ChatColor.GREEN + "Trace level for " + category + " set to " + level + ".");
+            return;
+        }
+
+        int count = 20;
+        if (args.length >= 2 && category == null) {
+            count = Integer.parseInt(args[1]);
+        }
+
+        List<String> lines = tracer.dump(count, category);
+        if (lines.isEmpty()) {
+            player.sendMessage(ChatColor.GRAY + "No trace messages recorded.");
+            return;
+        }
+        player.sendMessage(ChatColor.YELLOW + "Last " + lines.size() + " trace messages:");
+        for (String line : lines) {
+            player.sendMessage(ChatColor.GRAY + line);
+        }
+    }
 }
@@ -1,12 +1,15 @@
 package com.example.questplugin.commands;
 
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.managers.StorageBackend;
+import com.example.questplugin.managers.TemplateRegistry;
 import com.example.questplugin.model.QuestTemplate;
 
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 
+import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -22,10 +25,38 @@ public class QuestStatsCommand implements CommandExecutor, TabCompleter {
     private final QuestPlugin plugin;
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
 
+    /**
+     * Completed quest IDs suggested by tab completion, read on the storage thread. Only touched on the main
+     * thread.
+     */
+    private Set<String> completedQuestIds = Set.of();
+    private boolean refreshingCompletedQuestIds;
+
     public QuestStatsCommand(QuestPlugin plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * Starts reading the completed quest IDs for tab completion on the storage thread, unless a read is
+     * already running. Suggestions use the previous IDs until it finishes. Runs on the main thread.
+     */
+    private void refreshCompletedQuestIds() {
+        if (refreshingCompletedQuestIds) return;
+        refreshingCompletedQuestIds = true;
+        plugin.getQuestStorage().getCompletedQuestIdsAsync().whenComplete((ids, error) ->
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    refreshingCompletedQuestIds = false;
+                    if (error != null) return; // Suggest template IDs only
+                    Set<String> valid = new HashSet<>();
+                    for (String key : ids) {
+                        if (key.matches("^[a-zA-Z_]+$")) {
+                            valid.add(key.toLowerCase());
+                        }
+                    }
+                    completedQuestIds = valid;
+                }));
+    }
+
     @Override
     public boolean onCommand(CommandSender sender, org.bukkit.command.Command command, String label, String[] args) {
         if (!(sender instanceof Player)) {
@@ -44,34 +75,45 @@ public class QuestStatsCommand implements CommandExecutor, TabCompleter {
         String questIdToCheck = args[0];
 
         // Validate the quest ID exists in templates
-        List<QuestTemplate> templates = plugin.getQuestLoader().getAllTemplates();
-        Set<String> validQuestIds = templates.stream()
-                .map(QuestTemplate::getId)
-                .collect(Collectors.toSet());
-
-        if (validQuestIds.isEmpty()) {
+        TemplateRegistry templates = plugin.getQuestLoader().getRegistry();
+        if (templates.size() == 0) {
             player.sendMessage(miniMessage.deserialize("No quests found in the system!"));
             return false;
         }
 
-        String lowerCaseQuestId = questIdToCheck.toLowerCase();
-        if (!validQuestIds.contains(lowerCaseQuestId)) {
+        QuestTemplate template = templates.getIgnoreCase(questIdToCheck);
+        if (template == null) {
             player.sendMessage(miniMessage.deserialize("Quest ID not found or invalid!"));
             return false;
         }
 
-        // Check if the quest has any completion data
-        if (!plugin.getCompletionConfig().isSet(questIdToCheck)) {
+        // Read the completion data on the storage thread and reply on the main thread
+        String questId = template.getId(); // Completions are recorded under the template's ID
+        plugin.getQuestStorage().getCompletionStatsAsync(questId).whenComplete((stats, error) ->
+                Bukkit.getScheduler().runTask(plugin, () -> showStats(sender, stats, error)));
+        return true;
+    }
+
+    /**
+     * Sends a quest's completion stats to the player who asked for them. Runs on the main thread.
+     *
+     * @param sender The command sender.
+     * @param stats  The stats, or null if they could not be read.
+     * @param error  Why the stats could not be read, or null.
+     */
+    private void showStats(CommandSender sender, StorageBackend.CompletionStats stats, Throwable error) {
+        Audience player = (Audience) sender;
+        if (error != null) {
+            player.sendMessage(miniMessage.deserialize("Could not read completion data!"));
+            return;
+        }
+        if (stats.completions() == 0) {
             player.sendMessage(miniMessage.deserialize("No completion data found for this quest!"));
-            return false;
+            return;
         }
 
-        String questId = lowerCaseQuestId; // Use lowercase for consistency
-        int completion = plugin.getCompletionConfig().getInt(questId + ".completions");
-        long playersCompleted = plugin.getCompletionConfig()
-                .getConfigurationSection(questId + ".players")
-                .getValues(false)
-                .size();
+        int completion = stats.completions();
+        long playersCompleted = stats.players().size();
         Component message = miniMessage.deserialize(
             "Quest Stats:\n" +
             "Total Completions: " + completion + "\n" +
@@ -83,8 +125,6 @@ public class QuestStatsCommand implements CommandExecutor, TabCompleter {
         } else {
             sender.sendMessage(message.toString());
     }
-
-        return true;
         }
 
     @Override
@@ -93,13 +133,8 @@ public class QuestStatsCommand implements CommandExecutor, TabCompleter {
             return Collections.emptyList();
         }
 
-        // Get all quest IDs that have been completed and valid quests from templates
-        Set<String> completedQuestIds = new HashSet<>();
-        for (String key : plugin.getCompletionConfig().getKeys(false)) {
-            if (key.matches("^[a-zA-Z_]+$")) {
-                completedQuestIds.add(key.toLowerCase());
-            }
-        }
+        // Suggest the completed quest IDs read last time, and read them again in the background
+        refreshCompletedQuestIds();
 
         // Get all available quests from templates
         List<String> allQuestIds = new ArrayList<>();
@@ -0,0 +1,58 @@
+package com.example.questplugin.events;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import com.example.questplugin.model.Quest;
+import com.example.questplugin.model.QuestTemplate;
+
+/**
+ * Fired once when a quest objective first reaches its target amount.
+ */
+public class ObjectiveCompleteEvent extends Event {
+
+    private static final HandlerList handlers = new HandlerList();
+    private final Player player;
+    private final Quest quest;
+    private final QuestTemplate.Objective objective;
+    private final int remainingObjectives;
+
+    public ObjectiveCompleteEvent(Player player, Quest quest, QuestTemplate.Objective objective, int remainingObjectives) {
+        this.player = player;
+        this.quest = quest;
+        this.objective = objective;
+        this.remainingObjectives = remainingObjectives;
+    }
+
+    /**
+     * @return The player who completed the objective, or null if they are offline.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Quest getQuest() {
+        return quest;
+    }
+
+    public QuestTemplate.Objective getObjective() {
+        return objective;
+    }
+
+    /**
+     * @return The number of objectives of the quest still below their target after this one.
+     */
+    public int getRemainingObjectives() {
+        return remainingObjectives;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.questplugin.events;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import com.example.questplugin.model.Quest;
+
+/**
+ * Fired once when the last objective of a quest is completed and its reward becomes claimable.
+ */
+public class QuestReadyEvent extends Event {
+
+    private static final HandlerList handlers = new HandlerList();
+    private final Player player;
+    private final Quest quest;
+
+    public QuestReadyEvent(Player player, Quest quest) {
+        this.player = player;
+        this.quest = quest;
+    }
+
+    /**
+     * @return The player who completed the final objective, or null if they are offline.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Quest getQuest() {
+        return quest;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.model.Quest;
+import com.example.questplugin.model.QuestTemplate;
+
+import java.util.*;
+
+/**
+ * Tracks server-wide progress for GLOBAL quest objectives.
+ * <p>
+ * Every player contributes to the same global objectives. Contributions are summed per flush by
+ * {@link ProgressBuffer} and added here on the main thread, into a {@code long} counter per objective rather
+ * than the objective's {@code int} field, so completion is detected exactly once when the counter first
+ * reaches the objective's target. The objective's own progress field is only written by {@link #publish()},
+ * which copies the current counts back for display and persistence. Only used on the main thread.
+ */
+public class GlobalProgressTracker {
+
+    /**
+     * Counters keyed by the live objective instance of each active global quest.
+     */
+    private final Map<QuestTemplate.Objective, Counter> counters = new HashMap<>();
+
+    /**
+     * Starts tracking the objectives of the given global quests. Counters for objectives that are already
+     * tracked are kept, new objectives are seeded with their current progress, and objectives of quests
+     * that are no longer active are dropped.
+     *
+     * @param quests The active global quests.
+     */
+    public void track(List<Quest> quests) {
+        Set<QuestTemplate.Objective> active = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Quest quest : quests) {
+            for (QuestTemplate.Objective obj : quest.getQuestObjectives()) {
+                active.add(obj);
+                counters.computeIfAbsent(obj, Counter::new);
+            }
+        }
+        counters.keySet().removeIf(obj -> !active.contains(obj));
+    }
+
+    /**
+     * Adds a contribution to a global objective.
+     *
+     * @param obj    The global objective.
+     * @param amount The amount to add.
+     * @return true exactly once, for the contribution that brings the objective to its target.
+     */
+    public boolean contribute(QuestTemplate.Objective obj, long amount) {
+        Counter counter = counters.get(obj);
+        if (counter == null) return false;
+        counter.progress += amount;
+        if (counter.completed || counter.progress < counter.target) return false;
+        counter.completed = true;
+        return true;
+    }
+
+    /**
+     * Returns the current server-wide progress of a global objective without touching the objective itself.
+     *
+     * @param obj The global objective.
+     * @return The tracked progress, or the objective's published progress if it is not tracked.
+     */
+    public long snapshot(QuestTemplate.Objective obj) {
+        Counter counter = counters.get(obj);
+        return counter == null ? obj.getProgress() : counter.progress;
+    }
+
+    /**
+     * Checks whether a tracked global objective has crossed its target.
+     *
+     * @param obj The global objective.
+     * @return true if the objective is complete.
+     */
+    public boolean isComplete(QuestTemplate.Objective obj) {
+        Counter counter = counters.get(obj);
+        return counter != null && counter.completed;
+    }
+
+    /**
+     * Copies the current count of a single objective into its progress field.
+     *
+     * @param obj The global objective.
+     */
+    public void publish(QuestTemplate.Objective obj) {
+        Counter counter = counters.get(obj);
+        if (counter != null) {
+            obj.setProgress((int) Math.min(Integer.MAX_VALUE, counter.progress));
+        }
+    }
+
+    /**
+     * Copies the current counts of all tracked objectives into their progress fields.
+     */
+    public void publish() {
+        for (Map.Entry<QuestTemplate.Objective, Counter> entry : counters.entrySet()) {
+            entry.getKey().setProgress((int) Math.min(Integer.MAX_VALUE, entry.getValue().progress));
+        }
+    }
+
+    /**
+     * Progress count and one-shot completion flag for a single objective.
+     */
+    private static class Counter {
+        private long progress;
+        private boolean completed;
+        private final long target;
+
+        private Counter(QuestTemplate.Objective obj) {
+            this.target = obj.getTargetAmount();
+            this.progress = obj.getProgress();
+            this.completed = obj.getProgress() >= obj.getTargetAmount();
+        }
+    }
+}
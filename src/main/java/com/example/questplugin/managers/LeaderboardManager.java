@@ -1,29 +1,34 @@
 package com.example.questplugin.managers;
 
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.events.QuestCompleteEvent;
 import com.example.questplugin.model.Quest;
+import com.example.questplugin.util.QuestTracer;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
 
 import eu.decentsoftware.holograms.api.DHAPI;
 import eu.decentsoftware.holograms.api.holograms.Hologram;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Manages the leaderboard for tracking player quest scores.
+ * Scores are recorded from {@link QuestCompleteEvent}, fired once when a quest reward is claimed.
  */
-public class LeaderboardManager {
+public class LeaderboardManager implements Listener {
 
     private final QuestPlugin plugin;
     private final Map<UUID, Integer> scores = new HashMap<>();
-    private final File file;
-    private final FileConfiguration config;
+
+    /**
+     * Players whose score changed since the last save.
+     */
+    private final Set<UUID> changed = new HashSet<>();
 
     /**
      * Constructs a new instance of LeaderboardManager.
@@ -32,11 +37,6 @@ public class LeaderboardManager {
      */
     public LeaderboardManager(QuestPlugin plugin) {
         this.plugin = plugin;
-        this.file = new File(plugin.getDataFolder(), "leaderboard.yml");
-        if (!file.exists()) {
-            plugin.saveResource("leaderboard.yml", false);
-        }
-        this.config = YamlConfiguration.loadConfiguration(file);
         load();
     }
 
@@ -49,7 +49,8 @@ public class LeaderboardManager {
     public void addScore(UUID uuid, int amount) {
         int newScore = scores.getOrDefault(uuid, 0) + amount;
         scores.put(uuid, newScore);
-        plugin.debug("[Leaderboard] Added " + amount + " points to " + uuid + " (new total: " + newScore + ")");
+        changed.add(uuid);
+        plugin.getTracer().trace(QuestTracer.Category.LEADERBOARD, QuestTracer.Level.DEBUG, () -> "[Leaderboard] Added " + amount + " points to " + uuid + " (new total: " + newScore + ")");
         save();
         updateHologram();
     }
@@ -78,36 +79,31 @@ public class LeaderboardManager {
     }
 
     /**
-     * Loads player scores from the configuration file.
+     * Loads player scores from the storage backend.
      */
     public void load() {
         scores.clear();
-        for (String key : config.getKeys(false)) {
-            try {
-                UUID uuid = UUID.fromString(key);
-                int score = config.getInt(key);
-                scores.put(uuid, score);
-                plugin.debug("[Leaderboard] Loaded score " + score + " for " + uuid);
-            } catch (IllegalArgumentException ignored) {
-                plugin.log("[Leaderboard] Skipped invalid UUID: " + key);
-            }
+        try {
+            scores.putAll(plugin.getQuestStorage().getBackend().loadScores());
+        } catch (IOException e) {
+            plugin.log("[Leaderboard] Failed to load leaderboard: " + e.getMessage());
+            e.printStackTrace();
         }
+        plugin.getTracer().trace(QuestTracer.Category.LEADERBOARD, QuestTracer.Level.DEBUG, () -> "[Leaderboard] Loaded " + scores.size() + " scores");
     }
 
     /**
-     * Saves player scores to the configuration file.
+     * Queues the scores that changed since the last save for writing on the storage thread.
      */
     public void save() {
-        for (Map.Entry<UUID, Integer> entry : scores.entrySet()) {
-            config.set(entry.getKey().toString(), entry.getValue());
-        }
-        try {
-            config.save(file);
-            plugin.debug("[Leaderboard] Saved leaderboard to file.");
-        } catch (IOException e) {
-            plugin.log("[Leaderboard] Failed to save leaderboard: " + e.getMessage());
-            e.printStackTrace();
+        if (changed.isEmpty()) return;
+        Map<UUID, Integer> updates = new HashMap<>(changed.size());
+        for (UUID uuid : changed) {
+            updates.put(uuid, scores.get(uuid));
         }
+        changed.clear();
+        plugin.getQuestStorage().submit("save the leaderboard", backend -> backend.saveScores(updates));
+        plugin.getTracer().trace(QuestTracer.Category.LEADERBOARD, QuestTracer.Level.DEBUG, () -> "[Leaderboard] Queued " + updates.size() + " changed scores for saving.");
     }
 
     /**
@@ -127,7 +123,7 @@ public class LeaderboardManager {
         Hologram hologram = DHAPI.getHologram(holoId);
         if (hologram == null) {
             hologram = DHAPI.createHologram(holoId, location, true);
-            plugin.debug("[Leaderboard] Created new hologram.");
+            plugin.getTracer().trace(QuestTracer.Category.LEADERBOARD, QuestTracer.Level.DEBUG, () -> "[Leaderboard] Created new hologram.");
         }
 
         List<String> templateLines = plugin.getConfig().getStringList("Leaderboard.Lines");
@@ -153,7 +149,18 @@ public class LeaderboardManager {
         }
 
         DHAPI.setHologramLines(hologram, newLines);
-        plugin.debug("[Leaderboard] Updated hologram lines.");
+        plugin.getTracer().trace(QuestTracer.Category.LEADERBOARD, QuestTracer.Level.DEBUG, () -> "[Leaderboard] Updated hologram lines.");
+    }
+
+    /**
+     * Records a claimed quest on the leaderboard.
+     *
+     * @param event The quest complete event.
+     */
+    @EventHandler
+    public void onQuestComplete(QuestCompleteEvent event) {
+        if (event.getPlayer() == null) return;
+        recordCompletion(event.getPlayer().getUniqueId(), event.getQuest());
     }
 
     /**
@@ -173,7 +180,7 @@ public class LeaderboardManager {
         }
     
         addScore(playerId, points);
-        plugin.debug("[Leaderboard] Recorded " + points + " pts for " + playerId + " for completing " + quest.getRarity().name() + " quest: " + quest.getId());
+        plugin.getTracer().trace(QuestTracer.Category.LEADERBOARD, QuestTracer.Level.DEBUG, () -> "[Leaderboard] Recorded " + points + " pts for " + playerId + " for completing " + quest.getRarity().name() + " quest: " + quest.getId());
     }
 
     /**
@@ -0,0 +1,299 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.model.ObjectiveTarget;
+import com.example.questplugin.model.Quest;
+import com.example.questplugin.model.QuestTemplate;
+import com.example.questplugin.model.QuestType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup table from {@code (QuestType, targetKey)} to the live objectives that can still make progress.
+ * <p>
+ * Listeners use this instead of scanning every daily, weekly and global quest per event, so the cost of
+ * an event is proportional to the number of objectives it actually matches. Objectives with an exact
+ * compiled target are bucketed by their Material, EntityType, Biome or key; wildcard and category targets
+ * are kept in a short per-type pattern list that callers test with {@link ObjectiveTarget#matches(Object)}. The index is rebuilt for a
+ * player whenever their quests are (re)assigned, and objectives are unlinked as soon as they complete.
+ * <p>
+ * Only online players are indexed. Every live entry is counted in the {@link QuestInterestRegistry}, so the
+ * handlers for a quest type stay registered exactly as long as some indexed objective can use them.
+ */
+public class ObjectiveIndex {
+
+    private final QuestInterestRegistry interest;
+
+    /**
+     * Per-player objective buckets for daily and weekly quests.
+     */
+    private final Map<UUID, Bucket> players = new ConcurrentHashMap<>();
+
+    /**
+     * Shared bucket for the server-wide global quests.
+     */
+    private volatile Bucket global;
+
+    /**
+     * Constructs a new ObjectiveIndex.
+     *
+     * @param interest The registry notified as live objectives are added and removed.
+     */
+    public ObjectiveIndex(QuestInterestRegistry interest) {
+        this.interest = interest;
+        this.global = new Bucket(interest);
+    }
+
+    /**
+     * Rebuilds the index for a single player from their current daily and weekly quests.
+     *
+     * @param uuid   The player's UUID.
+     * @param daily  The player's daily quests.
+     * @param weekly The player's weekly quests.
+     */
+    public void indexPlayer(UUID uuid, List<Quest> daily, List<Quest> weekly) {
+        Bucket bucket = new Bucket(interest);
+        bucket.addAll(daily);
+        bucket.addAll(weekly);
+        bucket.activate();
+        Bucket previous = players.put(uuid, bucket);
+        if (previous != null) previous.retire();
+    }
+
+    /**
+     * Removes a player's objectives from the index.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void removePlayer(UUID uuid) {
+        Bucket previous = players.remove(uuid);
+        if (previous != null) previous.retire();
+    }
+
+    /**
+     * Rebuilds the shared index of global quest objectives.
+     *
+     * @param quests The active global quests.
+     */
+    public void indexGlobal(List<Quest> quests) {
+        Bucket bucket = new Bucket(interest);
+        bucket.addAll(quests);
+        bucket.activate();
+        Bucket previous = this.global;
+        this.global = bucket;
+        previous.retire();
+    }
+
+    /**
+     * Returns the player's live objectives whose compiled target is exactly the given key.
+     * The returned list is owned by the index and must not be modified directly; use {@link Entry#unlink()}.
+     *
+     * @param uuid The player's UUID.
+     * @param type The objective type.
+     * @param key  The Material, EntityType, Biome or normalized String reported by the event.
+     * @return Matching entries, or an empty list.
+     */
+    public List<Entry> lookup(UUID uuid, QuestType type, Object key) {
+        Bucket bucket = players.get(uuid);
+        return bucket == null ? Collections.emptyList() : bucket.lookup(type, key);
+    }
+
+    /**
+     * Returns the player's live wildcard and category objectives of a type. Callers must test each entry's
+     * target against the event key.
+     *
+     * @param uuid The player's UUID.
+     * @param type The objective type.
+     * @return Candidate entries, or an empty list.
+     */
+    public List<Entry> lookupPatterns(UUID uuid, QuestType type) {
+        Bucket bucket = players.get(uuid);
+        return bucket == null ? Collections.emptyList() : bucket.lookupPatterns(type);
+    }
+
+    /**
+     * Returns the player's live objectives of a type regardless of target key.
+     *
+     * @param uuid The player's UUID.
+     * @param type The objective type.
+     * @return Matching entries, or an empty list.
+     */
+    public List<Entry> lookupType(UUID uuid, QuestType type) {
+        Bucket bucket = players.get(uuid);
+        return bucket == null ? Collections.emptyList() : bucket.lookupType(type);
+    }
+
+    /**
+     * Returns the live global objectives whose compiled target is exactly the given key.
+     *
+     * @param type The objective type.
+     * @param key  The Material, EntityType, Biome or normalized String reported by the event.
+     * @return Matching entries, or an empty list.
+     */
+    public List<Entry> lookupGlobal(QuestType type, Object key) {
+        return global.lookup(type, key);
+    }
+
+    /**
+     * Returns the live global wildcard and category objectives of a type.
+     *
+     * @param type The objective type.
+     * @return Candidate entries, or an empty list.
+     */
+    public List<Entry> lookupGlobalPatterns(QuestType type) {
+        return global.lookupPatterns(type);
+    }
+
+    /**
+     * Returns the live global objectives of a type regardless of target key.
+     *
+     * @param type The objective type.
+     * @return Matching entries, or an empty list.
+     */
+    public List<Entry> lookupGlobalType(QuestType type) {
+        return global.lookupType(type);
+    }
+
+    /**
+     * A single live objective together with the quest it belongs to.
+     */
+    public static class Entry {
+        private final Quest quest;
+        private final QuestTemplate.Objective objective;
+        private final Bucket owner;
+        private final ObjectiveTarget target;
+
+        private Entry(Quest quest, QuestTemplate.Objective objective, Bucket owner) {
+            this.quest = quest;
+            this.objective = objective;
+            this.owner = owner;
+            this.target = objective.getTarget();
+        }
+
+        public Quest getQuest() {
+            return quest;
+        }
+
+        public QuestTemplate.Objective getObjective() {
+            return objective;
+        }
+
+        public ObjectiveTarget getTarget() {
+            return target;
+        }
+
+        /**
+         * Checks whether the objective has reached its target amount.
+         *
+         * @return true if the objective is complete.
+         */
+        public boolean isDone() {
+            return objective.getProgress() >= objective.getTargetAmount();
+        }
+
+        /**
+         * Removes this entry from the index so it no longer receives events.
+         */
+        public void unlink() {
+            owner.remove(this);
+        }
+    }
+
+    /**
+     * Objectives grouped by type, and by target key within each type. A bucket only contributes to the
+     * interest counts while it is installed in the index; a replaced bucket is retired first, so late
+     * unlinks of its entries (e.g. from progress buffered before a reassignment) are not counted twice.
+     */
+    private static class Bucket {
+        private final EnumMap<QuestType, Map<Object, List<Entry>>> byKey = new EnumMap<>(QuestType.class);
+        private final EnumMap<QuestType, List<Entry>> patterns = new EnumMap<>(QuestType.class);
+        private final EnumMap<QuestType, List<Entry>> byType = new EnumMap<>(QuestType.class);
+        private final QuestInterestRegistry interest;
+        private boolean live;
+
+        private Bucket(QuestInterestRegistry interest) {
+            this.interest = interest;
+        }
+
+        /**
+         * Adds this bucket's entries to the interest counts. New counts are added before the replaced
+         * bucket is retired so a type present in both never drops to zero in between.
+         */
+        private void activate() {
+            live = true;
+            if (interest == null) return;
+            for (Map.Entry<QuestType, List<Entry>> typed : byType.entrySet()) {
+                interest.adjust(typed.getKey(), typed.getValue().size());
+            }
+        }
+
+        /**
+         * Removes this bucket's remaining entries from the interest counts.
+         */
+        private void retire() {
+            if (!live) return;
+            live = false;
+            if (interest == null) return;
+            for (Map.Entry<QuestType, List<Entry>> typed : byType.entrySet()) {
+                interest.adjust(typed.getKey(), -typed.getValue().size());
+            }
+        }
+
+        private void addAll(List<Quest> quests) {
+            if (quests == null) return;
+            for (Quest quest : quests) {
+                if (quest.isCompleted()) continue;
+                for (QuestTemplate.Objective obj : quest.getQuestObjectives()) {
+                    if (obj.getProgress() >= obj.getTargetAmount()) continue;
+                    Entry entry = new Entry(quest, obj, this);
+                    if (entry.target.isExact()) {
+                        byKey.computeIfAbsent(obj.getType(), t -> new HashMap<>())
+                                .computeIfAbsent(entry.target.getKey(), k -> new ArrayList<>(2))
+                                .add(entry);
+                    } else {
+                        patterns.computeIfAbsent(obj.getType(), t -> new ArrayList<>(2)).add(entry);
+                    }
+                    byType.computeIfAbsent(obj.getType(), t -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+
+        private List<Entry> lookup(QuestType type, Object key) {
+            Map<Object, List<Entry>> keys = byKey.get(type);
+            if (keys == null) return Collections.emptyList();
+            List<Entry> entries = keys.get(key);
+            return entries == null ? Collections.emptyList() : entries;
+        }
+
+        private List<Entry> lookupPatterns(QuestType type) {
+            List<Entry> entries = patterns.get(type);
+            return entries == null ? Collections.emptyList() : entries;
+        }
+
+        private List<Entry> lookupType(QuestType type) {
+            List<Entry> entries = byType.get(type);
+            return entries == null ? Collections.emptyList() : entries;
+        }
+
+        private void remove(Entry entry) {
+            QuestType type = entry.objective.getType();
+            if (entry.target.isExact()) {
+                Map<Object, List<Entry>> keys = byKey.get(type);
+                if (keys != null) {
+                    List<Entry> entries = keys.get(entry.target.getKey());
+                    if (entries != null) {
+                        entries.remove(entry);
+                        if (entries.isEmpty()) keys.remove(entry.target.getKey());
+                    }
+                }
+            } else {
+                List<Entry> entries = patterns.get(type);
+                if (entries != null) entries.remove(entry);
+            }
+            List<Entry> typed = byType.get(type);
+            if (typed != null && typed.remove(entry) && live && interest != null) {
+                interest.adjust(type, -1);
+            }
+        }
+    }
+}
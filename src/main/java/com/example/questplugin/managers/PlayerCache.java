@@ -0,0 +1,200 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.util.QuestTracer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Keeps quest data in memory only for online and recently offline players.
+ * <p>
+ * A player's quests are loaded on the storage thread while they log in, and made resident when they join.
+ * When they quit, they stay loaded for {@code Storage.Cache.UnloadDelay} seconds, so a quick rejoin costs
+ * nothing, and at most {@code Storage.Cache.MaxOfflinePlayers} offline players are kept, least recently
+ * quit first out. Evicted players are saved and dropped from memory, so heap use follows the online
+ * population rather than everyone who ever played.
+ */
+public class PlayerCache {
+
+    private final QuestPlugin plugin;
+
+    /**
+     * Loads started at login and not yet made resident. Written from login threads.
+     */
+    private final Map<UUID, QuestStorageManager.PendingLoad> loading = new ConcurrentHashMap<>();
+
+    /**
+     * Loaded offline players and when they quit, least recently quit first. Main thread only.
+     */
+    private final LinkedHashMap<UUID, Long> offline = new LinkedHashMap<>();
+
+    private final long unloadDelayMillis;
+    private final int maxOffline;
+    private final long loadTimeoutSeconds;
+
+    /**
+     * Constructs a new PlayerCache.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public PlayerCache(QuestPlugin plugin) {
+        this.plugin = plugin;
+        this.unloadDelayMillis = Math.max(0L, plugin.getConfig().getLong("Storage.Cache.UnloadDelay", 300L)) * 1000L;
+        this.maxOffline = Math.max(0, plugin.getConfig().getInt("Storage.Cache.MaxOfflinePlayers", 500));
+        this.loadTimeoutSeconds = Math.max(1L, plugin.getConfig().getLong("Storage.Cache.LoadTimeout", 10L));
+    }
+
+    /**
+     * Loads a logging-in player's quests unless they are still resident, waiting up to
+     * {@code Storage.Cache.LoadTimeout} seconds. Runs on a login thread, so blocking here does not stall the
+     * server. A load that takes longer keeps going and the quests are made resident when it finishes.
+     *
+     * @param uuid The player's UUID.
+     * @return false if the player's quests could not be read, in which case they should not join, since fresh
+     *         quests would overwrite the stored ones.
+     */
+    public boolean preload(UUID uuid) {
+        if (plugin.getQuestManager().isLoaded(uuid)) return true;
+        QuestStorageManager.PendingLoad load = loading.computeIfAbsent(uuid, plugin.getQuestStorage()::loadAsync);
+        try {
+            load.future().get(loadTimeoutSeconds, TimeUnit.SECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("[Storage] Loading quest data for " + uuid + " is taking over " + loadTimeoutSeconds + "s.");
+            return true;
+        } catch (ExecutionException e) {
+            loading.remove(uuid, load);
+            plugin.getLogger().warning("[Storage] Failed to load quest data for " + uuid + ": " + e.getCause().getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    /**
+     * Makes a joining player's quests resident, using the load started at login, and assigns any missing
+     * quests, or replaces those from a past reset period, once they are. Runs on the main thread.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void attach(UUID uuid) {
+        offline.remove(uuid);
+        QuestManager questManager = plugin.getQuestManager();
+        if (questManager.isLoaded(uuid)) {
+            loading.remove(uuid);
+            questManager.reindexPlayer(uuid);
+            questManager.assignMissingQuests(uuid);
+            return;
+        }
+
+        QuestStorageManager.PendingLoad load = loading.computeIfAbsent(uuid, plugin.getQuestStorage()::loadAsync);
+        if (load.future().isDone()) {
+            complete(load);
+        } else {
+            load.future().whenComplete((snapshot, error) -> Bukkit.getScheduler().runTask(plugin, () -> complete(load)));
+        }
+    }
+
+    /**
+     * Makes a finished load resident if its player is still online. Runs on the main thread.
+     *
+     * @param load The finished load.
+     */
+    private void complete(QuestStorageManager.PendingLoad load) {
+        UUID uuid = load.uuid();
+        if (!loading.remove(uuid, load)) return;
+
+        PlayerQuestSnapshot snapshot;
+        try {
+            snapshot = load.future().join();
+        } catch (CompletionException | CancellationException e) {
+            plugin.getLogger().warning("[Storage] Failed to load quest data for " + uuid + ": " + e.getMessage());
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) player.sendMessage("§cYour quests could not be loaded. Please rejoin.");
+            return;
+        }
+
+        QuestManager questManager = plugin.getQuestManager();
+        if (Bukkit.getPlayer(uuid) == null || questManager.isLoaded(uuid)) return;
+        questManager.loadPlayer(plugin.getQuestStorage().toPlayerState(uuid, snapshot));
+        questManager.assignMissingQuests(uuid);
+    }
+
+    /**
+     * Keeps a quitting player's quests loaded for the grace period, evicting the least recently quit
+     * players beyond {@code Storage.Cache.MaxOfflinePlayers}. Runs on the main thread.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void detach(UUID uuid) {
+        offline.remove(uuid);
+        offline.put(uuid, System.currentTimeMillis());
+        while (offline.size() > maxOffline) {
+            evict(offline.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Evicts offline players whose grace period is over. Runs periodically on the main thread.
+     */
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - unloadDelayMillis;
+        int evicted = 0;
+        Iterator<Map.Entry<UUID, Long>> it = offline.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, Long> entry = it.next();
+            if (entry.getValue() > cutoff) break;
+            it.remove();
+            unload(entry.getKey());
+            evicted++;
+        }
+        if (evicted > 0) {
+            int count = evicted;
+            plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Storage] Unloaded " + count + " offline players");
+        }
+    }
+
+    /**
+     * Removes an offline player from the cache and unloads them.
+     *
+     * @param uuid The player's UUID.
+     */
+    private void evict(UUID uuid) {
+        offline.remove(uuid);
+        unload(uuid);
+    }
+
+    /**
+     * Queues an offline player's unsaved changes and drops their quests from memory. Loads are ordered after
+     * queued writes, so a later load sees the changes.
+     *
+     * @param uuid The player's UUID.
+     */
+    private void unload(UUID uuid) {
+        if (Bukkit.getPlayer(uuid) != null) return;
+        plugin.getQuestStorage().save(uuid);
+        plugin.getQuestManager().unloadPlayer(uuid);
+    }
+
+    /**
+     * Gets the number of offline players still loaded.
+     *
+     * @return The offline count.
+     */
+    public int getOfflineCount() {
+        return offline.size();
+    }
+
+    /**
+     * Gets the number of loads in flight.
+     *
+     * @return The loading count.
+     */
+    public int getLoadingCount() {
+        return loading.size();
+    }
+}
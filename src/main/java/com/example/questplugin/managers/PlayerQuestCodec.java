@@ -0,0 +1,368 @@
+package com.example.questplugin.managers;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Converts {@link PlayerQuestSnapshot}s to and from the compact binary player file format, and to and
+ * from the YAML layout used before it, so data can still be inspected and edited by hand.
+ * <p>
+ * Binary layout, version 2. All integers are unsigned LEB128 varints unless noted:
+ * <pre>
+ * int32   magic "AQPS"
+ * byte    version
+ * varint  daily reset epoch + 1, weekly reset epoch + 1 (0 for {@link PlayerQuestSnapshot#UNSTAMPED})
+ * varint  string count, then per string: varint byte length, UTF-8 bytes
+ * daily section, weekly section:
+ *   varint  quest count
+ *   per quest: varint quest ID string, varint objective count,
+ *              per objective: varint target key string, varint progress
+ *   bytes   claimed bitmask, one bit per quest in order, (count + 7) / 8 bytes
+ * </pre>
+ * Quest IDs and target keys are interned into the string table, so each distinct string is stored once
+ * per file and quests refer to it by index. Version 1 files have no epochs and decode as unstamped.
+ */
+public final class PlayerQuestCodec {
+
+    private static final int MAGIC = 0x41515053; // "AQPS"
+    private static final byte VERSION = 2;
+
+    private PlayerQuestCodec() {}
+
+    /**
+     * Encodes a snapshot into the binary format. Partial snapshots encode just the quests they hold.
+     *
+     * @param snapshot The snapshot.
+     * @return The encoded bytes.
+     */
+    public static byte[] encode(PlayerQuestSnapshot snapshot) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        intern(strings, snapshot.daily());
+        intern(strings, snapshot.weekly());
+
+        Output out = new Output(64 + strings.size() * 16 + (snapshot.daily().size() + snapshot.weekly().size()) * 16);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeVarLong(snapshot.dailyEpoch() + 1);
+        out.writeVarLong(snapshot.weeklyEpoch() + 1);
+        out.writeVarInt(strings.size());
+        for (String string : strings.keySet()) {
+            out.writeString(string);
+        }
+        writeSection(out, strings, snapshot.daily());
+        writeSection(out, strings, snapshot.weekly());
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a player file written by {@link #encode(PlayerQuestSnapshot)}.
+     *
+     * @param uuid The player's UUID.
+     * @param data The encoded bytes.
+     * @return A full snapshot.
+     * @throws IOException If the data is truncated, corrupt or of an unknown version.
+     */
+    public static PlayerQuestSnapshot decode(UUID uuid, byte[] data) throws IOException {
+        Input in = new Input(data);
+        if (in.readInt() != MAGIC) throw new IOException("Not a quest data file");
+        byte version = in.readByte();
+        if (version != 1 && version != VERSION) throw new IOException("Unsupported quest data version " + version);
+        long dailyEpoch = PlayerQuestSnapshot.UNSTAMPED;
+        long weeklyEpoch = PlayerQuestSnapshot.UNSTAMPED;
+        if (version >= 2) {
+            dailyEpoch = in.readVarLong() - 1;
+            weeklyEpoch = in.readVarLong() - 1;
+        }
+
+        String[] strings = new String[in.readCount()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readString();
+        }
+        List<PlayerQuestSnapshot.QuestRecord> daily = readSection(in, strings);
+        List<PlayerQuestSnapshot.QuestRecord> weekly = readSection(in, strings);
+        return new PlayerQuestSnapshot(uuid, true, daily, weekly, dailyEpoch, weeklyEpoch);
+    }
+
+    /**
+     * Converts a snapshot to the YAML layout: {@code daily|weekly.<questId>.claimed},
+     * {@code daily|weekly.<questId>.objectives.<targetKey>.progress} and {@code daily_epoch|weekly_epoch}.
+     *
+     * @param snapshot The snapshot.
+     * @return The YAML document.
+     */
+    public static YamlConfiguration toYaml(PlayerQuestSnapshot snapshot) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        writeYaml(yaml, snapshot);
+        return yaml;
+    }
+
+    /**
+     * Writes a snapshot's quests and reset epochs into a YAML section, overwriting the quests it holds.
+     *
+     * @param root     The section holding the player's daily and weekly sections.
+     * @param snapshot The snapshot.
+     */
+    public static void writeYaml(ConfigurationSection root, PlayerQuestSnapshot snapshot) {
+        root.set("daily_epoch", snapshot.dailyEpoch());
+        root.set("weekly_epoch", snapshot.weeklyEpoch());
+        writeYamlSection(root, "daily.", snapshot.daily());
+        writeYamlSection(root, "weekly.", snapshot.weekly());
+    }
+
+    /**
+     * Reads a snapshot from the YAML layout. A claimed flag stored per objective, as written by older
+     * versions, is also accepted.
+     *
+     * @param uuid The player's UUID.
+     * @param root The section holding the player's daily and weekly sections.
+     * @return A full snapshot.
+     */
+    public static PlayerQuestSnapshot fromYaml(UUID uuid, ConfigurationSection root) {
+        return new PlayerQuestSnapshot(uuid, true,
+                readYamlSection(root.getConfigurationSection("daily")),
+                readYamlSection(root.getConfigurationSection("weekly")),
+                root.getLong("daily_epoch", PlayerQuestSnapshot.UNSTAMPED),
+                root.getLong("weekly_epoch", PlayerQuestSnapshot.UNSTAMPED));
+    }
+
+    private static void intern(Map<String, Integer> strings, List<PlayerQuestSnapshot.QuestRecord> records) {
+        for (PlayerQuestSnapshot.QuestRecord record : records) {
+            strings.putIfAbsent(record.id(), strings.size());
+            for (String key : record.targetKeys()) {
+                strings.putIfAbsent(key, strings.size());
+            }
+        }
+    }
+
+    private static void writeSection(Output out, Map<String, Integer> strings, List<PlayerQuestSnapshot.QuestRecord> records) {
+        out.writeVarInt(records.size());
+        byte[] claimed = new byte[(records.size() + 7) >>> 3];
+        for (int i = 0; i < records.size(); i++) {
+            PlayerQuestSnapshot.QuestRecord record = records.get(i);
+            out.writeVarInt(strings.get(record.id()));
+            out.writeVarInt(record.targetKeys().length);
+            for (int j = 0; j < record.targetKeys().length; j++) {
+                out.writeVarInt(strings.get(record.targetKeys()[j]));
+                out.writeVarInt(Math.max(0, record.progress()[j]));
+            }
+            if (record.claimed()) claimed[i >>> 3] |= (byte) (1 << (i & 7));
+        }
+        out.writeBytes(claimed);
+    }
+
+    private static List<PlayerQuestSnapshot.QuestRecord> readSection(Input in, String[] strings) throws IOException {
+        int count = in.readCount();
+        String[] ids = new String[count];
+        String[][] keys = new String[count][];
+        int[][] progress = new int[count][];
+        for (int i = 0; i < count; i++) {
+            ids[i] = in.readString(strings);
+            int objectives = in.readCount();
+            keys[i] = new String[objectives];
+            progress[i] = new int[objectives];
+            for (int j = 0; j < objectives; j++) {
+                keys[i][j] = in.readString(strings);
+                progress[i][j] = in.readVarInt();
+            }
+        }
+        byte[] claimed = in.readBytes((count + 7) >>> 3);
+
+        List<PlayerQuestSnapshot.QuestRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean isClaimed = (claimed[i >>> 3] & (1 << (i & 7))) != 0;
+            records.add(new PlayerQuestSnapshot.QuestRecord(ids[i], isClaimed, keys[i], progress[i]));
+        }
+        return records;
+    }
+
+    /**
+     * Writes quest records into a YAML section as {@code <prefix><questId>.claimed} and
+     * {@code <prefix><questId>.objectives.<targetKey>.progress}.
+     *
+     * @param root    The section to write into.
+     * @param prefix  The path prefix, empty or ending with a dot.
+     * @param records The quest records.
+     */
+    public static void writeYamlSection(ConfigurationSection root, String prefix, List<PlayerQuestSnapshot.QuestRecord> records) {
+        for (PlayerQuestSnapshot.QuestRecord record : records) {
+            String path = prefix + record.id();
+            root.set(path + ".claimed", record.claimed());
+            for (int i = 0; i < record.targetKeys().length; i++) {
+                root.set(path + ".objectives." + record.targetKeys()[i] + ".progress", record.progress()[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads quest records from a YAML section keyed by quest ID.
+     *
+     * @param section The section, or null.
+     * @return The records, empty if the section is null.
+     */
+    public static List<PlayerQuestSnapshot.QuestRecord> readYamlSection(ConfigurationSection section) {
+        List<PlayerQuestSnapshot.QuestRecord> records = new ArrayList<>();
+        if (section == null) return records;
+
+        for (String id : section.getKeys(false)) {
+            boolean claimed = section.getBoolean(id + ".claimed");
+            ConfigurationSection objectives = section.getConfigurationSection(id + ".objectives");
+            Set<String> keySet = objectives == null ? Collections.emptySet() : objectives.getKeys(false);
+            String[] keys = keySet.toArray(new String[0]);
+            int[] progress = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                progress[i] = objectives.getInt(keys[i] + ".progress");
+                claimed |= objectives.getBoolean(keys[i] + ".claimed");
+            }
+            records.add(new PlayerQuestSnapshot.QuestRecord(id, claimed, keys, progress));
+        }
+        return records;
+    }
+
+    /**
+     * Growable byte buffer with varint writes.
+     */
+    private static final class Output {
+        private byte[] buf;
+        private int pos;
+
+        Output(int capacity) {
+            this.buf = new byte[Math.max(16, capacity)];
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + extra));
+            }
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buf[pos++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            buf[pos++] = (byte) (value >>> 24);
+            buf[pos++] = (byte) (value >>> 16);
+            buf[pos++] = (byte) (value >>> 8);
+            buf[pos++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    /**
+     * Bounds-checked reader over an encoded player file.
+     */
+    private static final class Input {
+        private final byte[] buf;
+        private int pos;
+
+        Input(byte[] buf) {
+            this.buf = buf;
+        }
+
+        private void require(int count) throws IOException {
+            if (count < 0 || pos + count > buf.length) throw new IOException("Truncated quest data");
+        }
+
+        byte readByte() throws IOException {
+            require(1);
+            return buf[pos++];
+        }
+
+        int readInt() throws IOException {
+            require(4);
+            int value = ((buf[pos] & 0xFF) << 24) | ((buf[pos + 1] & 0xFF) << 16) | ((buf[pos + 2] & 0xFF) << 8) | (buf[pos + 3] & 0xFF);
+            pos += 4;
+            return value;
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        /**
+         * Reads a count and checks that it cannot exceed the remaining data, so corrupt files fail fast
+         * instead of allocating huge arrays.
+         */
+        int readCount() throws IOException {
+            int count = readVarInt();
+            if (count < 0 || count > buf.length - pos) throw new IOException("Corrupt quest data count " + count);
+            return count;
+        }
+
+        byte[] readBytes(int count) throws IOException {
+            require(count);
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + count);
+            pos += count;
+            return bytes;
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt();
+            require(length);
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        String readString(String[] strings) throws IOException {
+            int index = readVarInt();
+            if (index < 0 || index >= strings.length) throw new IOException("Bad string reference " + index);
+            return strings[index];
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.model.PlayerQuestState;
+import com.example.questplugin.model.Quest;
+import com.example.questplugin.model.QuestTemplate;
+import com.example.questplugin.model.QuestTier;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An immutable copy of a player's daily and weekly quest state, taken on the main thread so it can be
+ * serialized and written to disk on the storage thread.
+ * <p>
+ * A full snapshot holds every quest and replaces the player's stored data. A partial snapshot only holds
+ * the quests that changed since the last capture and is written over the stored data.
+ * <p>
+ * Each tier carries the reset epoch its quests were assigned in, see {@link ResetClock}. Data written before
+ * epochs were stored reads as {@link #UNSTAMPED}.
+ *
+ * @param uuid        The player's UUID.
+ * @param full        Whether this snapshot holds all of the player's quests.
+ * @param daily       The player's daily quests.
+ * @param weekly      The player's weekly quests.
+ * @param dailyEpoch  The reset epoch of the daily quests.
+ * @param weeklyEpoch The reset epoch of the weekly quests.
+ */
+public record PlayerQuestSnapshot(UUID uuid, boolean full, List<QuestRecord> daily, List<QuestRecord> weekly,
+                                  long dailyEpoch, long weeklyEpoch) {
+
+    /**
+     * The epoch of quests stored without one.
+     */
+    public static final long UNSTAMPED = -1L;
+
+    /**
+     * Copies the persisted fields of a player's quests and clears their dirty flags. Only reads plain
+     * fields, so it is cheap enough to run for every save on the main thread.
+     *
+     * @param state        The player's state.
+     * @param full         Whether to copy every quest, or only those marked dirty.
+     * @param progressOnly Whether to leave out quests without progress, for seeded assignments where the
+     *                     quests themselves can be recomputed.
+     * @return The snapshot.
+     */
+    public static PlayerQuestSnapshot capture(PlayerQuestState state, boolean full, boolean progressOnly) {
+        return new PlayerQuestSnapshot(state.getUuid(), full,
+                capture(state.getDaily(), full, progressOnly), capture(state.getWeekly(), full, progressOnly),
+                state.getEpoch(QuestTier.DAILY), state.getEpoch(QuestTier.WEEKLY));
+    }
+
+    private static List<QuestRecord> capture(List<Quest> quests, boolean full, boolean progressOnly) {
+        List<QuestRecord> records = new ArrayList<>(full && !progressOnly ? quests.size() : 2);
+        for (Quest quest : quests) {
+            if (full || quest.isDirty()) {
+                QuestRecord record = QuestRecord.of(quest);
+                if (!progressOnly || record.hasProgress()) records.add(record);
+                quest.clearDirty();
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Checks whether this snapshot holds no quest data to write.
+     *
+     * @return true if a partial snapshot has no records.
+     */
+    public boolean isEmpty() {
+        return !full && daily.isEmpty() && weekly.isEmpty();
+    }
+
+    /**
+     * Combines this snapshot with a newer one of the same player that was taken before this one was written.
+     *
+     * @param newer The newer snapshot.
+     * @return A snapshot equivalent to writing this one and then the newer one.
+     */
+    public PlayerQuestSnapshot merge(PlayerQuestSnapshot newer) {
+        if (newer.full) return newer;
+        return new PlayerQuestSnapshot(uuid, full, merge(daily, newer.daily), merge(weekly, newer.weekly),
+                newer.dailyEpoch, newer.weeklyEpoch);
+    }
+
+    private static List<QuestRecord> merge(List<QuestRecord> older, List<QuestRecord> newer) {
+        if (newer.isEmpty()) return older;
+        Map<String, QuestRecord> merged = new LinkedHashMap<>();
+        for (QuestRecord record : older) merged.put(record.id(), record);
+        for (QuestRecord record : newer) merged.put(record.id(), record);
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * The persisted state of a single quest.
+     *
+     * @param id         The quest ID.
+     * @param claimed    Whether the reward was claimed.
+     * @param targetKeys The objective target keys, in template order.
+     * @param progress   The objective progress values, parallel to {@code targetKeys}.
+     */
+    public record QuestRecord(String id, boolean claimed, String[] targetKeys, int[] progress) {
+
+        /**
+         * Copies a quest's ID, claimed flag and objective progress.
+         *
+         * @param quest The quest.
+         * @return The record.
+         */
+        public static QuestRecord of(Quest quest) {
+            List<QuestTemplate.Objective> objectives = quest.getQuestObjectives();
+            String[] keys = new String[objectives.size()];
+            int[] progress = new int[objectives.size()];
+            for (int i = 0; i < keys.length; i++) {
+                QuestTemplate.Objective objective = objectives.get(i);
+                keys[i] = objective.getTargetKey();
+                progress[i] = objective.getProgress();
+            }
+            return new QuestRecord(quest.getId(), quest.isRewardClaimed(), keys, progress);
+        }
+
+        /**
+         * Checks whether the quest was claimed or any of its objectives progressed.
+         *
+         * @return false for a quest as it was assigned.
+         */
+        public boolean hasProgress() {
+            if (claimed) return true;
+            for (int value : progress) {
+                if (value > 0) return true;
+            }
+            return false;
+        }
+    }
+}
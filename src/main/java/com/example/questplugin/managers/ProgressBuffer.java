@@ -0,0 +1,147 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.model.Quest;
+import com.example.questplugin.model.QuestTemplate;
+import com.example.questplugin.model.QuestTier;
+import com.example.questplugin.util.QuestTracer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+
+/**
+ * Accumulates objective progress reported by listeners during a tick and applies it in a single flush.
+ * <p>
+ * A vein-miner or a mob farm can report the same objective hundreds of times in one tick. Instead of
+ * bumping progress, notifying the player and checking the reward for each of those events, the deltas
+ * are summed per player and objective, and each objective is progressed and notified once per flush.
+ * Completion is edge-triggered by {@link Quest#applyProgress}, which fires the transition events.
+ * Each flushed objective is appended to the {@link ProgressJournal} once.
+ */
+public class ProgressBuffer {
+
+    private final QuestPlugin plugin;
+
+    /**
+     * Pending deltas per player, per indexed objective.
+     */
+    private final Map<UUID, Map<ObjectiveIndex.Entry, int[]>> pending = new HashMap<>();
+
+    /**
+     * Constructs a new ProgressBuffer.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public ProgressBuffer(QuestPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queues progress for an objective until the next flush.
+     *
+     * @param uuid   The player who made the progress.
+     * @param entry  The indexed objective.
+     * @param amount The amount of progress.
+     */
+    public void add(UUID uuid, ObjectiveIndex.Entry entry, int amount) {
+        pending.computeIfAbsent(uuid, id -> new HashMap<>())
+                .computeIfAbsent(entry, e -> new int[1])[0] += amount;
+    }
+
+    /**
+     * Checks whether any progress is waiting to be applied.
+     *
+     * @return true if nothing is queued.
+     */
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Applies all queued progress. Runs once per tick on the main thread.
+     */
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        for (Map.Entry<UUID, Map<ObjectiveIndex.Entry, int[]>> playerEntry : pending.entrySet()) {
+            Player player = Bukkit.getPlayer(playerEntry.getKey());
+            for (Map.Entry<ObjectiveIndex.Entry, int[]> objEntry : playerEntry.getValue().entrySet()) {
+                ObjectiveIndex.Entry entry = objEntry.getKey();
+                int delta = objEntry.getValue()[0];
+                if (entry.getQuest().getTier() == QuestTier.GLOBAL) {
+                    applyGlobal(player, entry, delta);
+                } else {
+                    applyPlayer(playerEntry.getKey(), player, entry, delta);
+                }
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Applies a summed delta to one of the player's own objectives and marks the player for saving.
+     *
+     * @param uuid   The player's UUID.
+     * @param player The player, or null if they went offline since the progress was made.
+     * @param entry  The indexed objective.
+     * @param delta  The summed progress for this flush.
+     */
+    private void applyPlayer(UUID uuid, Player player, ObjectiveIndex.Entry entry, int delta) {
+        QuestTemplate.Objective obj = entry.getObjective();
+        Quest quest = entry.getQuest();
+        int remaining = obj.getTargetAmount() - obj.getProgress();
+        if (remaining <= 0) {
+            entry.unlink();
+            return;
+        }
+
+        int previous = obj.getProgress();
+        if (quest.applyProgress(player, obj, Math.min(delta, remaining))) {
+            entry.unlink();
+        }
+        plugin.getQuestStorage().markDirty(uuid);
+        plugin.getQuestStorage().getJournal().recordProgress(uuid, quest, obj, obj.getProgress());
+        QuestTracer tracer = plugin.getTracer();
+        if (tracer.isEnabled(QuestTracer.Category.DISPATCH, QuestTracer.Level.TRACE)) {
+            tracer.trace(QuestTracer.Category.DISPATCH, QuestTracer.Level.TRACE, "[" + obj.getType() + "] Updated progress for " + quest.getTier() + " quest " + quest.getId() + ": " + obj.getProgress());
+        }
+
+        if (player == null) return;
+        plugin.getQuestNotifier().notifyProgress(player, quest, previous, obj.getProgress(), obj.getTargetAmount());
+    }
+
+    /**
+     * Applies a summed delta to a shared global objective through the global progress tracker.
+     * Only the contribution that reaches the target completes the objective and fires its transition events.
+     *
+     * @param player The contributing player, or null if they went offline since the progress was made.
+     * @param entry  The indexed global objective.
+     * @param delta  The summed contribution for this flush.
+     */
+    private void applyGlobal(Player player, ObjectiveIndex.Entry entry, int delta) {
+        GlobalProgressTracker tracker = plugin.getQuestManager().getGlobalProgress();
+        QuestTemplate.Objective obj = entry.getObjective();
+        Quest quest = entry.getQuest();
+        if (tracker.isComplete(obj)) {
+            entry.unlink();
+            return;
+        }
+
+        long previous = tracker.snapshot(obj);
+        boolean completed = tracker.contribute(obj, delta);
+        if (completed) {
+            tracker.publish(obj);
+            quest.completeObjective(player, obj);
+            entry.unlink();
+        }
+        plugin.getQuestStorage().getJournal().recordProgress(ProgressJournal.GLOBAL_OWNER, quest, obj, tracker.snapshot(obj));
+        QuestTracer tracer = plugin.getTracer();
+        if (tracer.isEnabled(QuestTracer.Category.DISPATCH, QuestTracer.Level.TRACE)) {
+            tracer.trace(QuestTracer.Category.DISPATCH, QuestTracer.Level.TRACE, "[" + obj.getType() + "] Updated progress for global quest " + quest.getId() + ": " + tracker.snapshot(obj));
+        }
+
+        if (player == null || completed) return;
+        plugin.getQuestNotifier().notifyProgress(player, quest, previous, previous + delta, obj.getTargetAmount());
+    }
+}
@@ -0,0 +1,608 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.model.PlayerQuestState;
+import com.example.questplugin.model.Quest;
+import com.example.questplugin.model.QuestTemplate;
+import com.example.questplugin.model.QuestTier;
+import com.example.questplugin.util.QuestTracer;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of objective progress, reward claims and random quest assignments, so progress made
+ * between two saves survives a crash.
+ * <p>
+ * Records are appended on the main thread into a memory-mapped segment file, {@code journal/<generation>.log}.
+ * Appending is a memory copy; the operating system writes the pages back, so records survive the server
+ * process dying without any disk write on the main thread. Each record holds the absolute progress of one
+ * objective, or a claim, so replaying a record twice is harmless. Records carry the reset epoch of the quests
+ * they belong to, and only apply to stored quests of that epoch, so progress from before a reset never lands
+ * on a same-ID quest of the next period. Without seeded assignments a player's new quests are journaled too,
+ * since progress on quests assigned after the last save has nothing stored to apply to. Records are framed by a length and a CRC32, and replay stops at the
+ * first torn or zeroed record.
+ * <p>
+ * A checkpoint starts a new segment, queues every change for saving and, once the storage thread has written
+ * it, records the new generation in {@code journal/checkpoint} and deletes the older segments. On startup,
+ * segments from the last checkpoint on are replayed on top of the stored snapshots.
+ * Configured under {@code Storage.Journal}.
+ */
+public class ProgressJournal {
+
+    /**
+     * The owner of global quest records.
+     */
+    public static final UUID GLOBAL_OWNER = new UUID(0L, 0L);
+
+    private static final byte PROGRESS = 1;
+    private static final byte CLAIM = 2;
+    private static final byte ASSIGN = 3;
+
+    private final QuestPlugin plugin;
+    private final File dir;
+    private final File checkpointFile;
+    private final boolean enabled;
+    private final int segmentSize;
+
+    /**
+     * The segment being appended to, and its generation. Only touched on the main thread.
+     */
+    private MappedByteBuffer segment;
+    private FileChannel channel;
+    private long generation;
+
+    /**
+     * Whether a checkpoint was requested because a segment filled up.
+     */
+    private boolean checkpointRequested;
+
+    /**
+     * The latest record per objective or claim read from the journal on startup, by owner, until they are
+     * applied to the loaded quests.
+     */
+    private final Map<UUID, Map<String, Entry>> replayed = new HashMap<>();
+
+    /**
+     * The latest assignment per tier read from the journal on startup, by owner.
+     */
+    private final Map<UUID, Map<QuestTier, Assignment>> assignments = new HashMap<>();
+
+    /**
+     * Set when replayed progress could not be written into the stored quests on startup. The replayed
+     * segments are then the only copy of that progress, so they are not compacted until the next start
+     * replays them again.
+     */
+    private volatile boolean replayFailed;
+
+    private long appended;
+    private int replayedCount;
+
+    /**
+     * Constructs a new ProgressJournal, reading the records left by the previous run and opening a new segment.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public ProgressJournal(QuestPlugin plugin) {
+        this.plugin = plugin;
+        this.dir = new File(plugin.getDataFolder(), "journal");
+        this.checkpointFile = new File(dir, "checkpoint");
+        this.enabled = plugin.getConfig().getBoolean("Storage.Journal.Enabled", true);
+        this.segmentSize = Math.max(64, plugin.getConfig().getInt("Storage.Journal.SegmentSizeKB", 4096)) * 1024;
+        if (!enabled) return;
+
+        if (!dir.exists() && dir.mkdirs()) {
+            plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Journal] Created journal directory");
+        }
+        long checkpoint = readCheckpoint();
+        long last = checkpoint - 1;
+        for (long gen : segments()) {
+            if (gen < checkpoint) continue;
+            replay(gen);
+            last = Math.max(last, gen);
+        }
+        try {
+            open(last + 1);
+        } catch (IOException e) {
+            plugin.getLogger().severe("[Journal] Could not open a journal segment, progress is only saved on autosave: " + e.getMessage());
+        }
+        if (replayedCount > 0) {
+            plugin.log("[Journal] Replaying " + replayedCount + " records for " + getReplayedOwners().size() + " owners.");
+        }
+    }
+
+    /**
+     * Records the current progress of an objective.
+     *
+     * @param owner    The player's UUID, or {@link #GLOBAL_OWNER} for a global quest.
+     * @param quest    The quest.
+     * @param obj      The objective.
+     * @param progress The objective's progress.
+     */
+    public void recordProgress(UUID owner, Quest quest, QuestTemplate.Objective obj, long progress) {
+        if (segment == null) return;
+        byte[] id = quest.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] key = obj.getTargetKey().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = begin(PROGRESS, owner, quest.getTier(), epochOf(owner, quest.getTier()), id, 2 + key.length + 4);
+        if (record == null) return;
+        record.putShort((short) key.length).put(key);
+        record.putInt((int) Math.min(Integer.MAX_VALUE, progress));
+        commit(record);
+    }
+
+    /**
+     * Records that a quest's reward was claimed.
+     *
+     * @param owner The player's UUID, or {@link #GLOBAL_OWNER} for a global quest.
+     * @param quest The quest.
+     */
+    public void recordClaim(UUID owner, Quest quest) {
+        if (segment == null) return;
+        ByteBuffer record = begin(CLAIM, owner, quest.getTier(), epochOf(owner, quest.getTier()),
+                quest.getId().getBytes(StandardCharsets.UTF_8), 0);
+        if (record == null) return;
+        commit(record);
+    }
+
+    /**
+     * Records a player's newly assigned quests of a tier, so progress on them can be restored even if the
+     * server stops before they are saved.
+     *
+     * @param owner  The player's UUID.
+     * @param tier   {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param epoch  The reset epoch they were assigned in.
+     * @param quests The assigned quests.
+     */
+    public void recordAssignment(UUID owner, QuestTier tier, long epoch, List<Quest> quests) {
+        if (segment == null) return;
+        List<byte[]> ids = new ArrayList<>(quests.size());
+        int extra = 2;
+        for (Quest quest : quests) {
+            byte[] id = quest.getId().getBytes(StandardCharsets.UTF_8);
+            if (id.length > Short.MAX_VALUE) return;
+            ids.add(id);
+            extra += 2 + id.length;
+        }
+        ByteBuffer record = begin(ASSIGN, owner, tier, epoch, new byte[0], extra);
+        if (record == null) return;
+        record.putShort((short) ids.size());
+        for (byte[] id : ids) record.putShort((short) id.length).put(id);
+        commit(record);
+    }
+
+    /**
+     * Gets the reset epoch of an owner's quests of a tier: the epoch the player's quests were assigned in,
+     * or 0 for global quests, which do not reset.
+     *
+     * @param owner The player's UUID, or {@link #GLOBAL_OWNER}.
+     * @param tier  The quest's tier.
+     * @return The epoch.
+     */
+    private long epochOf(UUID owner, QuestTier tier) {
+        if (tier != QuestTier.DAILY && tier != QuestTier.WEEKLY) return 0L;
+        PlayerQuestState state = plugin.getQuestManager().getState(owner);
+        return state != null ? state.getEpoch(tier) : plugin.getResetClock().currentEpoch(tier);
+    }
+
+    /**
+     * Starts a record at the end of the current segment, moving to a new segment if it does not fit.
+     * The record's length is written last, by {@link #commit}, so a half-written record reads as the end.
+     *
+     * @return A view positioned after the common fields, or null if no segment could be opened.
+     */
+    private ByteBuffer begin(byte type, UUID owner, QuestTier tier, long epoch, byte[] id, int extra) {
+        if (id.length > Short.MAX_VALUE) return null;
+        int size = 4 + 1 + 16 + 1 + 8 + 2 + id.length + extra + 8;
+        if (size > segmentSize) return null;
+        if (segment.remaining() < size + 4) {
+            try {
+                open(generation + 1);
+            } catch (IOException e) {
+                plugin.getLogger().warning("[Journal] Could not open a new journal segment: " + e.getMessage());
+                segment = null;
+                return null;
+            }
+            requestCheckpoint();
+        }
+        ByteBuffer record = segment.slice(segment.position(), size);
+        record.position(4);
+        record.put(type);
+        record.putLong(owner.getMostSignificantBits()).putLong(owner.getLeastSignificantBits());
+        record.put((byte) tier.ordinal());
+        record.putLong(epoch);
+        record.putShort((short) id.length).put(id);
+        return record;
+    }
+
+    /**
+     * Seals a record with its checksum and length and advances the segment past it.
+     */
+    private void commit(ByteBuffer record) {
+        int end = record.position();
+        CRC32 crc = new CRC32();
+        crc.update(record.slice(4, end - 4));
+        record.putLong(crc.getValue());
+        record.putInt(0, end - 4);
+        segment.position(segment.position() + record.position());
+        appended++;
+    }
+
+    /**
+     * Asks for a checkpoint on the next tick, e.g. because a segment filled up.
+     */
+    private void requestCheckpoint() {
+        if (checkpointRequested || !plugin.isEnabled()) return;
+        checkpointRequested = true;
+        Bukkit.getScheduler().runTask(plugin, this::checkpoint);
+    }
+
+    /**
+     * Folds the journal into a new snapshot: starts a new segment, queues every changed player and the global
+     * quests for writing, and once the storage thread has written them without failures, deletes the
+     * segments they cover. Runs on the main thread.
+     */
+    public void checkpoint() {
+        checkpointRequested = false;
+        QuestStorageManager storage = plugin.getQuestStorage();
+        QuestManager questManager = plugin.getQuestManager();
+        if (storage == null || questManager == null) return;
+
+        long covered = generation;
+        if (segment != null) {
+            try {
+                open(generation + 1);
+            } catch (IOException e) {
+                plugin.getLogger().warning("[Journal] Could not open a new journal segment: " + e.getMessage());
+                segment = null;
+            }
+        }
+        QuestWriteBehind writeBehind = storage.getWriteBehind();
+        long failures = writeBehind.getFailedCount();
+        storage.save();
+        List<PlayerQuestSnapshot.QuestRecord> globals = questManager.captureGlobalQuests();
+        storage.submit("checkpoint the progress journal", backend -> {
+            backend.saveGlobalQuests(globals);
+            if (!enabled) return;
+            if (writeBehind.getFailedCount() != failures) {
+                plugin.getLogger().warning("[Journal] Keeping the journal, quest data could not be saved.");
+                return;
+            }
+            if (replayFailed) {
+                plugin.getLogger().warning("[Journal] Keeping the journal, progress replayed on startup could not be saved.");
+                return;
+            }
+            compact(covered);
+        });
+    }
+
+    /**
+     * Marks every segment up to and including the given generation as saved, and deletes them.
+     * Runs on the storage thread after the checkpoint's writes.
+     *
+     * @param covered The last generation included in the saved snapshot.
+     * @throws IOException If the checkpoint marker could not be written.
+     */
+    private void compact(long covered) throws IOException {
+        File temp = new File(dir, "checkpoint.tmp");
+        Files.writeString(temp.toPath(), Long.toString(covered + 1), StandardCharsets.UTF_8);
+        Files.move(temp.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        int deleted = 0;
+        for (long gen : segments()) {
+            if (gen <= covered && segmentFile(gen).delete()) deleted++;
+        }
+        int count = deleted;
+        plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Journal] Checkpointed through generation " + covered + ", deleted " + count + " segments");
+    }
+
+    /**
+     * Applies replayed records to the stored global quests.
+     *
+     * @param owner   {@link #GLOBAL_OWNER}.
+     * @param tier    The tier of the records.
+     * @param records The stored records.
+     * @return The records with journal progress applied, or the same list if nothing was replayed for them.
+     */
+    public List<PlayerQuestSnapshot.QuestRecord> applyReplay(UUID owner, QuestTier tier, List<PlayerQuestSnapshot.QuestRecord> records) {
+        return applyReplay(owner, tier, 0L, records, false);
+    }
+
+    /**
+     * Applies replayed records of one reset epoch to a player's stored quests, optionally adding records for
+     * replayed quests that are not stored. With seeded assignments only quests with progress are stored, so
+     * a quest whose first progress is only in the journal has no stored record yet. Records of other epochs
+     * belong to another period's quests and are ignored.
+     *
+     * @param owner      The player's UUID, or {@link #GLOBAL_OWNER}.
+     * @param tier       The tier of the records.
+     * @param epoch      The reset epoch of the stored records.
+     * @param records    The stored records.
+     * @param addMissing Whether to add records for replayed quests that are not in the stored records.
+     * @return The records with journal progress applied, or the same list if nothing was replayed for them.
+     */
+    public List<PlayerQuestSnapshot.QuestRecord> applyReplay(UUID owner, QuestTier tier, long epoch,
+                                                             List<PlayerQuestSnapshot.QuestRecord> records, boolean addMissing) {
+        Map<String, Entry> latest = replayed.get(owner);
+        if (latest == null) return records;
+        List<Entry> entries = new ArrayList<>();
+        for (Entry entry : latest.values()) {
+            if (entry.tier() == tier && entry.epoch() == epoch) entries.add(entry);
+        }
+        if (entries.isEmpty()) return records;
+
+        List<PlayerQuestSnapshot.QuestRecord> result = new ArrayList<>(records.size());
+        for (PlayerQuestSnapshot.QuestRecord record : records) {
+            boolean claimed = record.claimed();
+            Map<String, Integer> progress = new LinkedHashMap<>();
+            for (int i = 0; i < record.targetKeys().length; i++) {
+                progress.put(record.targetKeys()[i], record.progress()[i]);
+            }
+            for (Entry entry : entries) {
+                if (!entry.questId().equals(record.id())) continue;
+                if (entry.type() == CLAIM) {
+                    claimed = true;
+                } else {
+                    progress.put(entry.targetKey(), entry.progress());
+                }
+            }
+            String[] keys = progress.keySet().toArray(new String[0]);
+            int[] values = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) values[i] = progress.get(keys[i]);
+            result.add(new PlayerQuestSnapshot.QuestRecord(record.id(), claimed, keys, values));
+        }
+        if (addMissing) {
+            Set<String> stored = new HashSet<>();
+            for (PlayerQuestSnapshot.QuestRecord record : records) stored.add(record.id());
+            Set<String> missing = new LinkedHashSet<>();
+            for (Entry entry : entries) {
+                if (!stored.contains(entry.questId())) missing.add(entry.questId());
+            }
+            for (String id : missing) {
+                result.addAll(applyReplay(owner, tier, epoch, List.of(new PlayerQuestSnapshot.QuestRecord(id, false, new String[0], new int[0])), false));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the latest reset epoch of an owner's replayed records of a tier.
+     *
+     * @param owner The player's UUID.
+     * @param tier  {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @return The epoch, or {@link Long#MIN_VALUE} if no records of the tier were replayed for them.
+     */
+    public long getReplayedEpoch(UUID owner, QuestTier tier) {
+        long epoch = Long.MIN_VALUE;
+        for (Entry entry : replayed.getOrDefault(owner, Map.of()).values()) {
+            if (entry.tier() == tier) epoch = Math.max(epoch, entry.epoch());
+        }
+        Assignment assignment = assignments.getOrDefault(owner, Map.of()).get(tier);
+        return assignment != null ? Math.max(epoch, assignment.epoch()) : epoch;
+    }
+
+    /**
+     * Gets the quests last assigned to an owner in a tier according to the journal, if they were assigned in
+     * the given epoch.
+     *
+     * @param owner The player's UUID.
+     * @param tier  {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param epoch The reset epoch.
+     * @return The assigned quest IDs, or null if no assignment of that epoch was replayed.
+     */
+    public List<String> getReplayedAssignment(UUID owner, QuestTier tier, long epoch) {
+        Assignment assignment = assignments.getOrDefault(owner, Map.of()).get(tier);
+        return assignment != null && assignment.epoch() == epoch ? assignment.questIds() : null;
+    }
+
+    /**
+     * Gets the owners with replayed records, so they can be saved with the first checkpoint.
+     *
+     * @return The owners, including {@link #GLOBAL_OWNER} if global records were replayed.
+     */
+    public Set<UUID> getReplayedOwners() {
+        Set<UUID> owners = new HashSet<>(replayed.keySet());
+        owners.addAll(assignments.keySet());
+        return owners;
+    }
+
+    /**
+     * Records that progress replayed on startup could not be written into the stored quests, so checkpoints
+     * keep every segment until the next start.
+     */
+    public void markReplayFailed() {
+        replayFailed = true;
+    }
+
+    /**
+     * Drops the records read on startup once they are applied.
+     */
+    public void clearReplay() {
+        replayed.clear();
+        assignments.clear();
+    }
+
+    /**
+     * Reads one segment's records into {@link #replayed}.
+     *
+     * @param gen The segment's generation.
+     */
+    private void replay(long gen) {
+        File file = segmentFile(gen);
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            plugin.getLogger().warning("[Journal] Could not read " + file.getName() + ": " + e.getMessage());
+            return;
+        }
+        QuestTier[] tiers = QuestTier.values();
+        try {
+            while (buffer.remaining() >= 4) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                if (length <= 0 || length + 8 > buffer.remaining()) break;
+                CRC32 crc = new CRC32();
+                crc.update(buffer.slice(start + 4, length));
+                ByteBuffer record = buffer.slice(start + 4, length);
+                buffer.position(start + 4 + length);
+                if (buffer.getLong() != crc.getValue()) break;
+
+                byte type = record.get();
+                UUID owner = new UUID(record.getLong(), record.getLong());
+                int tier = record.get();
+                if (tier < 0 || tier >= tiers.length) break;
+                long epoch = record.getLong();
+                String questId = readString(record);
+                if (type == ASSIGN) {
+                    List<String> ids = new ArrayList<>();
+                    for (int i = record.getShort(); i > 0; i--) ids.add(readString(record));
+                    assignments.computeIfAbsent(owner, id -> new EnumMap<>(QuestTier.class))
+                            .put(tiers[tier], new Assignment(epoch, List.copyOf(ids)));
+                    replayedCount++;
+                    continue;
+                }
+                Entry entry = type == PROGRESS
+                        ? new Entry(type, tiers[tier], epoch, questId, readString(record), record.getInt())
+                        : new Entry(type, tiers[tier], epoch, questId, null, 0);
+                String key = tier + ":" + epoch + ":" + questId + ":" + (type == PROGRESS ? entry.targetKey() : "");
+                replayed.computeIfAbsent(owner, id -> new HashMap<>()).put(key, entry);
+                replayedCount++;
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            plugin.getLogger().warning("[Journal] Stopped reading " + file.getName() + " at a damaged record.");
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Maps a new, zeroed segment and makes it the one being appended to.
+     *
+     * @param gen The new segment's generation.
+     * @throws IOException If the segment could not be created or mapped.
+     */
+    private void open(long gen) throws IOException {
+        closeSegment();
+        channel = FileChannel.open(segmentFile(gen).toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        generation = gen;
+    }
+
+    /**
+     * Flushes and closes the current segment. The mapping itself is released when it is garbage collected.
+     */
+    private void closeSegment() {
+        if (segment != null) segment.force();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+        }
+        segment = null;
+        channel = null;
+    }
+
+    /**
+     * Flushes the current segment to disk and closes it. Called on shutdown, after the final checkpoint.
+     */
+    public void close() {
+        closeSegment();
+    }
+
+    /**
+     * Reads the first generation that is not covered by a saved snapshot.
+     *
+     * @return The generation, or 0 if no checkpoint was recorded.
+     */
+    private long readCheckpoint() {
+        if (!checkpointFile.exists()) return 0L;
+        try {
+            return Long.parseLong(Files.readString(checkpointFile.toPath(), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            plugin.getLogger().warning("[Journal] Could not read journal/checkpoint, replaying every segment: " + e.getMessage());
+            return 0L;
+        }
+    }
+
+    /**
+     * Lists the generations of the segment files on disk, in order.
+     *
+     * @return The generations.
+     */
+    private long[] segments() {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(".log"));
+        if (files == null) return new long[0];
+        return Arrays.stream(files)
+                .map(file -> file.getName().substring(0, file.getName().length() - 4))
+                .filter(name -> name.matches("\\d{1,18}"))
+                .mapToLong(Long::parseLong)
+                .sorted()
+                .toArray();
+    }
+
+    private File segmentFile(long gen) {
+        return new File(dir, String.format("%012d.log", gen));
+    }
+
+    /**
+     * Gets the number of records appended since startup.
+     *
+     * @return The appended count.
+     */
+    public long getAppendedCount() {
+        return appended;
+    }
+
+    /**
+     * Gets the number of records replayed on startup.
+     *
+     * @return The replayed count.
+     */
+    public int getReplayedCount() {
+        return replayedCount;
+    }
+
+    /**
+     * Gets the generation of the segment being appended to.
+     *
+     * @return The generation.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * A replayed journal record.
+     *
+     * @param type      {@link #PROGRESS} or {@link #CLAIM}.
+     * @param tier      The quest's tier.
+     * @param epoch     The reset epoch of the quest, 0 for global quests.
+     * @param questId   The quest ID.
+     * @param targetKey The objective's target key, for progress records.
+     * @param progress  The objective's progress, for progress records.
+     */
+    private record Entry(byte type, QuestTier tier, long epoch, String questId, String targetKey, int progress) {}
+
+    /**
+     * A replayed quest assignment.
+     *
+     * @param epoch    The reset epoch the quests were assigned in.
+     * @param questIds The assigned quest IDs.
+     */
+    private record Assignment(long epoch, List<String> questIds) {}
+}
@@ -1,13 +1,10 @@
 package com.example.questplugin.managers;
 
 import com.example.questplugin.QuestPlugin;
-import com.example.questplugin.model.QuestRarity;
-import com.example.questplugin.model.QuestTemplate;
 import com.example.questplugin.model.QuestTier;
 import com.example.questplugin.model.Quest;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Manages the assignment of quests to players based on various criteria such as tier, rarity, and player progress.
@@ -16,6 +13,11 @@ public class QuestAssigner {
 private final QuestPlugin plugin;
 private final Random random = new Random();
 
+    /**
+     * Whether daily and weekly quests are seeded by player and period, see {@link #getSeededQuests}.
+     */
+private final boolean deterministic;
+
     /**
      * Constructs a new QuestAssigner with the specified plugin instance.
      *
@@ -23,6 +25,52 @@ private final Random random = new Random();
      */
 public QuestAssigner(QuestPlugin plugin) {
     this.plugin = plugin;
+    this.deterministic = plugin.getConfig().getBoolean("Assignments.Deterministic", false);
+}
+
+    /**
+     * Checks whether {@code Assignments.Deterministic} is enabled, in which case daily and weekly quests
+     * come from {@link #getSeededQuests} rather than being drawn at random.
+     *
+     * @return true if assignments are seeded.
+     */
+public boolean isDeterministic() {
+    return deterministic;
+}
+
+    /**
+     * Computes a player's quests of a tier for a reset period as a pure function of the player, the period
+     * and the {@link TemplateRegistry#version()}. Any server with the same templates computes the same
+     * quests without loading anything, so only progress has to be stored. Quests are drawn by rarity weight.
+     *
+     * @param playerId The UUID of the player.
+     * @param tier     {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param epoch    The reset epoch of the period, see {@link ResetClock}.
+     * @param count    The number of quests to draw.
+     * @return The player's quests for the period, fresh without progress.
+     */
+public List<Quest> getSeededQuests(UUID playerId, QuestTier tier, long epoch, int count) {
+    TemplateRegistry registry = plugin.getQuestLoader().getRegistry();
+    long seed = mix(playerId.getMostSignificantBits());
+    seed = mix(seed ^ playerId.getLeastSignificantBits());
+    seed = mix(seed ^ epoch);
+    seed = mix(seed ^ registry.version());
+    seed = mix(seed ^ tier.ordinal());
+    return QuestSampler.sample(registry.pool(tier), count, true, List.of(), new Random(seed));
+}
+
+    /**
+     * Scrambles a value with the SplitMix64 finalizer, so seeds of neighbouring players and periods are
+     * unrelated.
+     *
+     * @param value The value.
+     * @return The mixed value.
+     */
+private static long mix(long value) {
+    long z = value + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
 }
 
     /**
@@ -34,29 +82,13 @@ public QuestAssigner(QuestPlugin plugin) {
      * @return A list of randomly selected Quest objects.
      */
 public List<Quest> getRandomQuests(UUID playerId, QuestTier tier, int count) {
-    List<QuestTemplate> allTemplates = plugin.getQuestLoader().getTemplatesByTier(tier);
-
-    // Shuffle and pick randomly
-    Collections.shuffle(allTemplates, random);
-
-    // Avoid duplicates by using quest ID set
-    Set<String> assignedIds = plugin.getQuestManager().getAllPlayerQuests(playerId).stream()
-            .map(Quest::getId)
-            .collect(Collectors.toSet());
-
-    List<Quest> selected = new ArrayList<>();
-    for (QuestTemplate template : allTemplates) {
-        if (!assignedIds.contains(template.getId())) {
-            selected.add(template.toQuest());
-        }
-        if (selected.size() >= count) break;
-    }
-
-    return selected;
+    return QuestSampler.sample(plugin.getQuestLoader().getRegistry().pool(tier), count, false,
+            plugin.getQuestManager().getAllPlayerQuests(playerId), random);
 }
 
     /**
-     * Retrieves a list of randomly selected quests for a player based on the specified tier and rarity weights.
+     * Retrieves a list of randomly selected quests for a player based on the specified tier and the
+     * {@code RarityWeights} configured for each rarity.
      *
      * @param playerId The UUID of the player to whom the quests are assigned.
      * @param tier     The tier of quests to retrieve.
@@ -64,47 +96,8 @@ public List<Quest> getRandomQuests(UUID playerId, QuestTier tier, int count) {
      * @return A list of randomly selected Quest objects with weights based on rarity.
      */
 public List<Quest> getRandomQuestsWeighted(UUID playerId, QuestTier tier, int count) {
-    List<QuestTemplate> templates = plugin.getQuestLoader().getTemplatesByTier(tier);
-    Set<String> assignedIds = plugin.getQuestManager().getAllPlayerQuests(playerId).stream()
-            .map(Quest::getId)
-            .collect(Collectors.toSet());
-
-    // Build a weighted list based on rarity
-    List<QuestTemplate> weightedList = new ArrayList<>();
-    for (QuestTemplate template : templates) {
-        if (assignedIds.contains(template.getId())) continue;
-        int weight = getWeight(template.getRarity());
-        for (int i = 0; i < weight; i++) {
-            weightedList.add(template);
-        }
-    }
-
-    Collections.shuffle(weightedList, random);
-
-    List<Quest> result = new ArrayList<>();
-    for (QuestTemplate template : weightedList) {
-        if (result.stream().noneMatch(q -> q.getId().equals(template.getId()))) {
-            result.add(template.toQuest());
-        }
-        if (result.size() >= count) break;
-    }
-
-    return result;
-}
-
-    /**
-     * Determines the weight of a quest based on its rarity.
-     *
-     * @param rarity The rarity of the quest.
-     * @return The weight value associated with the given rarity.
-     */
-private int getWeight(QuestRarity rarity) {
-    return switch (rarity) {
-        case COMMON -> 10;
-        case RARE -> 5;
-        case EPIC -> 2;
-        case LEGENDARY -> 1;
-    };
+    return QuestSampler.sample(plugin.getQuestLoader().getRegistry().pool(tier), count, true,
+            plugin.getQuestManager().getAllPlayerQuests(playerId), random);
 }
 
     /**
@@ -114,14 +107,8 @@ private int getWeight(QuestRarity rarity) {
      * @return A list of assigned Quest objects.
      */
 public List<Quest> assignDailyQuests(UUID uuid) {
-    List<QuestTemplate> pool = new ArrayList<>(plugin.getQuestLoader().getTemplatesByTier(QuestTier.DAILY));
     int dailyLimit = plugin.getConfig().getInt("QuestLimits.DAILY", 10);
-    List<QuestTemplate> shuffled = new ArrayList<>(pool);
-    Collections.shuffle(shuffled);
-    return shuffled.stream()
-        .limit(dailyLimit)
-        .map(QuestTemplate::toQuest)
-        .collect(Collectors.toList());
+    return QuestSampler.sample(plugin.getQuestLoader().getRegistry().pool(QuestTier.DAILY), dailyLimit, false, List.of(), random);
 }
 
     /**
@@ -131,14 +118,21 @@ public List<Quest> assignDailyQuests(UUID uuid) {
      * @return A list of assigned Quest objects.
      */
 public List<Quest> assignWeeklyQuests(UUID uuid) {
-    List<QuestTemplate> pool = new ArrayList<>(plugin.getQuestLoader().getTemplatesByTier(QuestTier.WEEKLY));
     int weeklyLimit = plugin.getConfig().getInt("QuestLimits.WEEKLY", 7);
-    List<QuestTemplate> shuffled = new ArrayList<>(pool);
-    Collections.shuffle(shuffled);
-    return shuffled.stream()
-        .limit(weeklyLimit)
-        .map(QuestTemplate::toQuest)
-        .collect(Collectors.toList());
+    return QuestSampler.sample(plugin.getQuestLoader().getRegistry().pool(QuestTier.WEEKLY), weeklyLimit, false, List.of(), random);
+}
+
+    /**
+     * Draws new quests of a tier for one player of a reset. Safe to call from any thread: the template pool is
+     * immutable and the sampler keeps per-thread scratch space.
+     *
+     * @param tier   The tier to draw from.
+     * @param count  The number of quests to draw.
+     * @param random The random source of the calling thread.
+     * @return A list of drawn Quest objects.
+     */
+public List<Quest> drawResetQuests(QuestTier tier, int count, Random random) {
+    return QuestSampler.sample(plugin.getQuestLoader().getRegistry().pool(tier), count, false, List.of(), random);
 }
 
     /**
@@ -147,13 +141,7 @@ public List<Quest> assignWeeklyQuests(UUID uuid) {
      * @return A list of assigned Quest objects.
      */
 public List<Quest> assignGlobalQuests() {
-    List<QuestTemplate> pool = new ArrayList<>(plugin.getQuestLoader().getTemplatesByTier(QuestTier.GLOBAL));
     int globalLimit = plugin.getConfig().getInt("QuestLimits.GLOBAL", 5);
-    List<QuestTemplate> shuffled = new ArrayList<>(pool);
-    Collections.shuffle(shuffled);
-    return shuffled.stream()
-        .limit(globalLimit)
-        .map(QuestTemplate::toQuest)
-        .collect(Collectors.toList());
+    return QuestSampler.sample(plugin.getQuestLoader().getRegistry().pool(QuestTier.GLOBAL), globalLimit, false, List.of(), random);
 }
 }
\ No newline at end of file
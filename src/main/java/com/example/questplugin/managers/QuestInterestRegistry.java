@@ -0,0 +1,152 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.model.QuestType;
+import com.example.questplugin.util.QuestTracer;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Tracks how many live objectives of each {@link QuestType} are held by online players and active global
+ * quests, and registers the Bukkit handlers for a type only while that count is above zero.
+ * <p>
+ * Events nobody is questing on are never delivered to the plugin at all. Counts are fed by the
+ * {@link ObjectiveIndex} as objectives are indexed, unlinked or dropped, and handlers are bound and
+ * unbound on the main thread whenever a type's count crosses zero.
+ */
+public class QuestInterestRegistry {
+
+    private final QuestPlugin plugin;
+    private final int[] counts = new int[QuestType.values().length];
+    private final EnumMap<QuestType, List<Binding>> bindings = new EnumMap<>(QuestType.class);
+
+    /**
+     * Constructs a new QuestInterestRegistry.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public QuestInterestRegistry(QuestPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Binds an event handler to a quest type. The handler is registered with Bukkit only while at least
+     * one live objective of the type exists.
+     *
+     * @param type       The quest type the handler serves.
+     * @param eventClass The Bukkit event class to listen for.
+     * @param handler    The handler to invoke.
+     * @param <E>        The event type.
+     */
+    public <E extends Event> void bindEvent(QuestType type, Class<E> eventClass, Consumer<E> handler) {
+        Listener marker = new Listener() {};
+        bind(type,
+                () -> plugin.getServer().getPluginManager().registerEvent(eventClass, marker, EventPriority.NORMAL, (listener, event) -> {
+                    if (eventClass.isInstance(event)) {
+                        handler.accept(eventClass.cast(event));
+                    }
+                }, plugin),
+                () -> unregister(eventClass, marker));
+    }
+
+    /**
+     * Binds arbitrary activation callbacks to a quest type, e.g. starting and stopping a repeating task.
+     * If the type is already active, {@code activate} runs immediately.
+     *
+     * @param type       The quest type.
+     * @param activate   Invoked when the type's count rises above zero.
+     * @param deactivate Invoked when the type's count drops back to zero.
+     */
+    public void bind(QuestType type, Runnable activate, Runnable deactivate) {
+        Binding binding = new Binding(activate, deactivate);
+        bindings.computeIfAbsent(type, t -> new ArrayList<>()).add(binding);
+        if (isActive(type)) {
+            binding.activate.run();
+        }
+    }
+
+    /**
+     * Adjusts the number of live objectives of a type, binding or unbinding its handlers on a zero crossing.
+     *
+     * @param type  The quest type.
+     * @param delta The change in live objectives.
+     */
+    public void adjust(QuestType type, int delta) {
+        if (delta == 0) return;
+        int before = counts[type.ordinal()];
+        int after = Math.max(0, before + delta);
+        counts[type.ordinal()] = after;
+
+        if (before == 0 && after > 0) {
+            plugin.getTracer().trace(QuestTracer.Category.DISPATCH, QuestTracer.Level.INFO, () -> "[Interest] Activating handlers for " + type);
+            for (Binding binding : bindings.getOrDefault(type, Collections.emptyList())) binding.activate.run();
+        } else if (before > 0 && after == 0) {
+            plugin.getTracer().trace(QuestTracer.Category.DISPATCH, QuestTracer.Level.INFO, () -> "[Interest] Deactivating handlers for " + type);
+            for (Binding binding : bindings.getOrDefault(type, Collections.emptyList())) binding.deactivate.run();
+        }
+    }
+
+    /**
+     * Checks whether any live objective of a type exists.
+     *
+     * @param type The quest type.
+     * @return true if handlers for the type are active.
+     */
+    public boolean isActive(QuestType type) {
+        return counts[type.ordinal()] > 0;
+    }
+
+    /**
+     * Gets the number of live objectives of a type.
+     *
+     * @param type The quest type.
+     * @return The live objective count.
+     */
+    public int getCount(QuestType type) {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * Removes a marker listener from the handler list of its event class only, avoiding a scan of every
+     * handler list on the server.
+     */
+    private void unregister(Class<? extends Event> eventClass, Listener marker) {
+        HandlerList handlers = handlerListOf(eventClass);
+        if (handlers != null) {
+            handlers.unregister(marker);
+        } else {
+            HandlerList.unregisterAll(marker);
+        }
+    }
+
+    /**
+     * Resolves the {@link HandlerList} an event class registers with, walking up to the class that declares
+     * {@code getHandlerList()} as Bukkit does.
+     */
+    private HandlerList handlerListOf(Class<?> eventClass) {
+        for (Class<?> clazz = eventClass; clazz != null && Event.class.isAssignableFrom(clazz); clazz = clazz.getSuperclass()) {
+            try {
+                Method method = clazz.getDeclaredMethod("getHandlerList");
+                method.setAccessible(true);
+                return (HandlerList) method.invoke(null);
+            } catch (NoSuchMethodException ignored) {
+                // keep walking up
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Activation callbacks for a single binding.
+     */
+    private record Binding(Runnable activate, Runnable deactivate) {}
+}
@@ -4,8 +4,11 @@
 package com.example.questplugin.managers;
 
 import com.example.questplugin.*;
+import com.example.questplugin.model.QuestRarity;
 import com.example.questplugin.model.QuestTemplate;
 import com.example.questplugin.model.QuestTier;
+import com.example.questplugin.model.QuestType;
+import com.example.questplugin.util.QuestTracer;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -14,7 +17,7 @@ import java.util.*;
 
 public class QuestLoader {
     private final QuestPlugin plugin;
-    private final List<QuestTemplate> templates = new ArrayList<>();
+    private volatile TemplateRegistry registry = TemplateRegistry.EMPTY;
     private FileConfiguration config;
 
     /**
@@ -28,7 +31,7 @@ public class QuestLoader {
     }
 
     /**
-     * Loads all quest templates from the YAML configuration file.
+     * Loads all quest templates from the YAML configuration file, replacing the previously loaded ones.
      */
     public void loadTemplates() {
         // Load quest templates from a YAML file
@@ -39,33 +42,107 @@ public class QuestLoader {
         }
         config = YamlConfiguration.loadConfiguration(templateFile);
 
+        List<QuestTemplate> templates = new ArrayList<>();
         for (String key : config.getKeys(false)) {
             plugin.debug(key);
             QuestTemplate template = new QuestTemplate(config.getConfigurationSection(key));
+            try {
+                template.compileTargets();
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("[TemplateLoader] Skipping quest template '" + template.getId() + "': " + e.getMessage());
+                continue;
+            }
             templates.add(template);
-            plugin.debug("[TemplateLoader] Loaded quest template: " + template.getId());
+            plugin.getTracer().trace(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG, () -> "[TemplateLoader] Loaded quest template: " + template.getId());
         }
+        registry = new TemplateRegistry(templates, loadRarityWeights()::get, message -> plugin.getLogger().warning("[TemplateLoader] " + message));
+        // Null on the first load, before the notifier exists
+        if (plugin.getQuestNotifier() != null) {
+            plugin.getQuestNotifier().clearDescriptions();
+        }
+    }
+
+    /**
+     * Reads the {@code RarityWeights} section of config.yml, the relative chance of each rarity being drawn
+     * for weighted assignments. Missing rarities get the built-in defaults, negative weights count as 0.
+     *
+     * @return The weight of each rarity.
+     */
+    private Map<QuestRarity, Integer> loadRarityWeights() {
+        Map<QuestRarity, Integer> weights = new EnumMap<>(QuestRarity.class);
+        for (QuestRarity rarity : QuestRarity.values()) {
+            int fallback = switch (rarity) {
+                case COMMON -> 60;
+                case RARE -> 30;
+                case EPIC -> 8;
+                case LEGENDARY -> 2;
+            };
+            int weight = plugin.getConfig().getInt("RarityWeights." + rarity.name(), fallback);
+            if (weight < 0) {
+                plugin.getLogger().warning("[TemplateLoader] Negative weight for rarity " + rarity + ", using 0.");
+                weight = 0;
+            }
+            weights.put(rarity, weight);
+        }
+        return weights;
+    }
+
+    /**
+     * Gets the current template registry.
+     *
+     * @return The registry of the last load.
+     */
+    public TemplateRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Retrieves a quest template by its exact ID.
+     *
+     * @param id The quest ID.
+     * @return The template, or null if no template has that ID.
+     */
+    public QuestTemplate getTemplate(String id) {
+        return registry.get(id);
     }
 
     /**
      * Retrieves a list of all loaded quest templates.
      *
-     * @return A list of QuestTemplate objects.
+     * @return An unmodifiable list of QuestTemplate objects.
      */
     public List<QuestTemplate> getAllTemplates() {
-        return templates;
+        return registry.getAll();
     }
 
     /**
      * Retrieves a list of quest templates filtered by the specified tier.
      *
      * @param tier The tier to filter quests by.
-     * @return A list of QuestTemplate objects that match the specified tier.
+     * @return An unmodifiable list of QuestTemplate objects that match the specified tier.
      */
     public List<QuestTemplate> getTemplatesByTier(QuestTier tier) {
-        return templates.stream()
-                .filter(q -> q.getTier() == tier)
-                .toList();
+        return registry.byTier(tier);
+    }
+
+    /**
+     * Retrieves the quest templates with at least one objective of the specified type.
+     *
+     * @param type The objective type.
+     * @return An unmodifiable list of matching QuestTemplate objects.
+     */
+    public List<QuestTemplate> getTemplatesByType(QuestType type) {
+        return registry.byType(type);
+    }
+
+    /**
+     * Retrieves the quest templates of the specified rarity.
+     *
+     * @param rarity The rarity.
+     * @return An unmodifiable list of matching QuestTemplate objects.
+     */
+    public List<QuestTemplate> getTemplatesByRarity(QuestRarity rarity) {
+        return registry.byRarity(rarity);
     }
 }
 
@@ -5,111 +5,111 @@
  */
 package com.example.questplugin.managers;
 
-import java.io.File;
-import java.io.IOException;
-import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.model.PlayerQuestState;
 import com.example.questplugin.model.QuestTemplate;
 import com.example.questplugin.model.QuestTier;
 import com.example.questplugin.model.Quest;
+import com.example.questplugin.util.QuestTracer;
 import org.bukkit.Bukkit;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 
 public class QuestManager {
 
+    /**
+     * The tiers each player holds, which reset by epoch.
+     */
+    private static final QuestTier[] RESET_TIERS = {QuestTier.DAILY, QuestTier.WEEKLY};
+
     private final QuestPlugin plugin;
-    private final Map<UUID, List<Quest>> dailyQuests = new ConcurrentHashMap<>();
-    private final Map<UUID, List<Quest>> weeklyQuests = new ConcurrentHashMap<>();
+    private final Map<UUID, PlayerQuestState> players = new ConcurrentHashMap<>();
     private final List<Quest> globalQuests = new ArrayList<>();
-    private final Map<UUID, List<Quest>> playerGlobalQuests = new HashMap<>();
-
-    private final File globalFile;
-    private final FileConfiguration globalConfig;
-    private final File resetFile;
-    private final YamlConfiguration config;
-    private LocalDate lastResetDate;
+    private final ObjectiveIndex objectiveIndex;
+    private final GlobalProgressTracker globalProgress = new GlobalProgressTracker();
 
     /**
-     * Constructs a new QuestManager and loads reset and global quest data from disk.
+     * Constructs a new QuestManager.
      *
      * @param plugin The main plugin instance.
      */
     public QuestManager(QuestPlugin plugin) {
         this.plugin = plugin;
-        this.globalFile = new File(plugin.getDataFolder(), "global_quests.yml");
-        if (!globalFile.exists()) {
-            try {
-                globalFile.createNewFile();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-        this.globalConfig = YamlConfiguration.loadConfiguration(globalFile);
-
-        this.resetFile = new File(plugin.getDataFolder(), "reset_data.yml");
-        if (!resetFile.exists()) {
-            try {
-                resetFile.createNewFile();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-        this.config = YamlConfiguration.loadConfiguration(resetFile);
-        this.lastResetDate = loadLastResetDate();
+        this.objectiveIndex = new ObjectiveIndex(plugin.getInterestRegistry());
     }
 
     /**
-     * Saves global quest progress and claim status to disk.
+     * Queues global quest progress and claim status for saving.
      */
     public void saveGlobalQuests() {
+        List<PlayerQuestSnapshot.QuestRecord> records = captureGlobalQuests();
+        plugin.getQuestStorage().saveGlobalQuests(records);
+        plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Global] Queued " + records.size() + " global quests for saving.");
+    }
+
+    /**
+     * Copies the active global quests for saving. Progress is read from the global progress tracker on the
+     * calling thread, so the copy can be written on the storage thread.
+     *
+     * @return The global quest records.
+     */
+    public List<PlayerQuestSnapshot.QuestRecord> captureGlobalQuests() {
+        List<PlayerQuestSnapshot.QuestRecord> records = new ArrayList<>(globalQuests.size());
         for (Quest quest : globalQuests) {
-            String id = quest.getId();
-            globalConfig.set(id + ".progress", quest.getCurrentProgress());
-            globalConfig.set(id + ".claimed", quest.isRewardClaimed());
-        }
-        try {
-            globalConfig.save(globalFile);
-        } catch (IOException e) {
-            e.printStackTrace();
+            List<QuestTemplate.Objective> objectives = quest.getQuestObjectives();
+            String[] keys = new String[objectives.size()];
+            int[] progress = new int[objectives.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = objectives.get(i).getTargetKey();
+                progress[i] = (int) Math.min(Integer.MAX_VALUE, globalProgress.snapshot(objectives.get(i)));
+            }
+            records.add(new PlayerQuestSnapshot.QuestRecord(quest.getId(), quest.isRewardClaimed(), keys, progress));
         }
-        plugin.debug("[Global] Saved global quests to file.");
+        return records;
+    }
+
+    /**
+     * Gets the quest state of a loaded player.
+     *
+     * @param uuid The player's UUID.
+     * @return The player's state, or null if they are not loaded.
+     */
+    public PlayerQuestState getState(UUID uuid) {
+        return players.get(uuid);
     }
 
     /**
      * Gets a list of weekly quests for a given player UUID.
      *
      * @param uuid The player's UUID.
-     * @return List of weekly quests.
+     * @return Unmodifiable list of weekly quests, empty if the player is not loaded.
      */
     public List<Quest> getPlayerWeeklyQuests(UUID uuid) {
-        return weeklyQuests.getOrDefault(uuid, new ArrayList<>());
+        PlayerQuestState state = players.get(uuid);
+        return state != null ? state.getWeekly() : Collections.emptyList();
     }
 
     /**
-     * Gets all quests for a specific tier for a player.
+     * Gets all quests for a specific tier for a player, first replacing any tier left over from a past
+     * reset period.
      *
      * @param uuid The player's UUID.
      * @param tier The quest tier.
-     * @return List of quests for that tier.
+     * @return List of quests for that tier. Global quests are shared by all players.
      */
     public List<Quest> getQuestsForTier(UUID uuid, QuestTier tier) {
+        refresh(uuid);
         return switch (tier) {
-            case DAILY -> dailyQuests.getOrDefault(uuid, new ArrayList<>());
-            case WEEKLY -> weeklyQuests.getOrDefault(uuid, new ArrayList<>());
-            case GLOBAL -> playerGlobalQuests.getOrDefault(uuid, new ArrayList<>());
-            case ALL -> {
-                List<Quest> all = new ArrayList<>();
-                all.addAll(dailyQuests.getOrDefault(uuid, Collections.emptyList()));
-                all.addAll(weeklyQuests.getOrDefault(uuid, Collections.emptyList()));
-                all.addAll(playerGlobalQuests.getOrDefault(uuid, Collections.emptyList()));
-                yield all;
+            case DAILY, WEEKLY -> {
+                PlayerQuestState state = players.get(uuid);
+                yield state != null ? state.getQuests(tier) : Collections.emptyList();
             }
-            case null -> dailyQuests.getOrDefault(uuid, new ArrayList<>());
+            case GLOBAL -> getGlobalQuests();
+            case ALL -> getAllPlayerQuests(uuid);
+            case null -> getPlayerDailyQuests(uuid);
         };
     }
 
@@ -135,8 +135,8 @@ public class QuestManager {
      */
     public List<Quest> getPlayerQuests(UUID uuid) {
         List<Quest> combinedQuests = new ArrayList<>();
-        combinedQuests.addAll(dailyQuests.get(uuid));
-        combinedQuests.addAll(weeklyQuests.get(uuid));
+        combinedQuests.addAll(getPlayerDailyQuests(uuid));
+        combinedQuests.addAll(getPlayerWeeklyQuests(uuid));
         return combinedQuests;
     }
 
@@ -144,148 +144,243 @@ public class QuestManager {
      * Returns the daily quests assigned to a player.
      *
      * @param uuid The player's UUID.
-     * @return List of daily quests.
+     * @return Unmodifiable list of daily quests, empty if the player is not loaded.
      */
     public List<Quest> getPlayerDailyQuests(UUID uuid) {
-        return dailyQuests.getOrDefault(uuid, new ArrayList<>());
+        PlayerQuestState state = players.get(uuid);
+        return state != null ? state.getDaily() : Collections.emptyList();
     }
 
     /**
-     * Ensures players have initial daily and weekly quests assigned.
+     * Ensures loaded players have initial daily and weekly quests assigned, and that global quests exist.
      */
     public void ensureInitialAssignments() {
-        int dailyQuestCount = plugin.getConfig().getInt("QuestLimits.DAILY", 7);
-        int weeklyQuestCount = plugin.getConfig().getInt("QuestLimits.WEEKLY", 7);
-    
         for (UUID uuid : getAllPlayers()) {
-            if (getPlayerDailyQuests(uuid).isEmpty()) {
-                List<Quest> daily = plugin.getQuestAssigner().getRandomQuestsWeighted(uuid, QuestTier.DAILY, dailyQuestCount);
-                assignNewDailyQuests(uuid, daily);
-                plugin.debug("[Assign] Assigned new DAILY quests to " + uuid + ". Total = " + dailyQuestCount);
+            assignMissingQuests(uuid);
+        }
+
+        assignInitialGlobalQuests();
+    }
+
+    /**
+     * Assigns new daily or weekly quests to a loaded player who has none of that tier, e.g. after joining
+     * for the first time, and replaces tiers left over from a past reset period.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void assignMissingQuests(UUID uuid) {
+        PlayerQuestState state = players.get(uuid);
+        if (state == null) return;
+        refresh(uuid);
+        for (QuestTier tier : RESET_TIERS) {
+            if (state.getQuests(tier).isEmpty()) {
+                List<Quest> quests = drawQuests(uuid, tier, false);
+                assignNewQuests(uuid, tier, quests);
+                plugin.getTracer().trace(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG, () -> "[Assign] Assigned new " + tier + " quests to " + uuid + ". Total = " + quests.size());
             }
-            if (getPlayerWeeklyQuests(uuid).isEmpty()) {
-                List<Quest> weekly = plugin.getQuestAssigner().getRandomQuestsWeighted(uuid, QuestTier.WEEKLY, weeklyQuestCount);
-                assignNewWeeklyQuests(uuid, weekly);
-                plugin.debug("[Assign] Assigned new WEEKLY quests to " + uuid + ". Total = " + weeklyQuestCount);
+        }
+    }
+
+    /**
+     * Replaces a loaded player's daily or weekly quests if they were assigned in another reset epoch than the
+     * tier's current one, e.g. before the last reset or under a different reset schedule. This is how resets
+     * reach players: {@link ResetClock} runs it for everyone online when a reset fires, and since it costs two
+     * comparisons when nothing is stale, it also runs whenever a player's quests are read, by the GUI, the
+     * listeners or when they join. Runs on the main thread.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void refresh(UUID uuid) {
+        PlayerQuestState state = players.get(uuid);
+        if (state == null) return;
+        ResetClock clock = plugin.getResetClock();
+        for (QuestTier tier : RESET_TIERS) {
+            if (state.getEpoch(tier) != clock.currentEpoch(tier)) {
+                reassign(uuid, tier);
             }
         }
+    }
 
-        assignInitialGlobalQuests();
+    /**
+     * Draws a new period's quests of a tier for a player and stamps them with the current epoch.
+     *
+     * @param uuid The player's UUID.
+     * @param tier {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     */
+    private void reassign(UUID uuid, QuestTier tier) {
+        List<Quest> quests = drawQuests(uuid, tier, true);
+        assignNewQuests(uuid, tier, quests);
+        plugin.getTracer().trace(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG, () -> "[Reset] Reset " + tier + " quests of " + uuid + ". Total = " + quests.size());
+    }
+
+    /**
+     * Draws a player's quests of a tier for the current period: seeded by player and period when
+     * {@code Assignments.Deterministic} is on, otherwise at random, by rarity weight for players who had
+     * none and uniformly after a reset.
+     *
+     * @param uuid  The player's UUID.
+     * @param tier  {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param reset Whether the quests replace those of a past period.
+     * @return The drawn quests.
+     */
+    private List<Quest> drawQuests(UUID uuid, QuestTier tier, boolean reset) {
+        QuestAssigner assigner = plugin.getQuestAssigner();
+        int count = getQuestLimit(tier);
+        if (assigner.isDeterministic()) {
+            return assigner.getSeededQuests(uuid, tier, plugin.getResetClock().currentEpoch(tier), count);
+        }
+        return reset ? assigner.drawResetQuests(tier, count, ThreadLocalRandom.current())
+                : assigner.getRandomQuestsWeighted(uuid, tier, count);
     }
 
+    /**
+     * Gets the number of daily or weekly quests each player holds.
+     *
+     * @param tier {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @return The configured {@code QuestLimits} of the tier.
+     */
+    public int getQuestLimit(QuestTier tier) {
+        return plugin.getConfig().getInt("QuestLimits." + tier.name(), tier == QuestTier.DAILY ? 10 : 7);
+    }
+
+    /**
+     * Replaces a player's daily quests and marks them for a full save.
+     *
+     * @param uuid   The player's UUID.
+     * @param quests The new daily quests.
+     */
     public void assignNewDailyQuests(UUID uuid, List<Quest> quests) {
-        dailyQuests.put(uuid, quests);
+        assignNewQuests(uuid, QuestTier.DAILY, quests);
     }
 
+    /**
+     * Replaces a player's weekly quests and marks them for a full save.
+     *
+     * @param uuid   The player's UUID.
+     * @param quests The new weekly quests.
+     */
     public void assignNewWeeklyQuests(UUID uuid, List<Quest> quests) {
-        weeklyQuests.put(uuid, quests);
+        assignNewQuests(uuid, QuestTier.WEEKLY, quests);
     }
 
-    public void assignGlobalQuests(UUID uuid, List<Quest> quests) {
-        playerGlobalQuests.put(uuid, quests);
+    /**
+     * Replaces a player's quests of a tier, stamped with the current reset epoch, and marks them for a full
+     * save. Random assignments are journaled until that save, see {@link ProgressJournal}.
+     *
+     * @param uuid   The player's UUID.
+     * @param tier   {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param quests The new quests.
+     */
+    private void assignNewQuests(UUID uuid, QuestTier tier, List<Quest> quests) {
+        long epoch = plugin.getResetClock().currentEpoch(tier);
+        stateOf(uuid).setQuests(tier, quests, epoch);
+        reindexPlayer(uuid);
+        QuestStorageManager storage = plugin.getQuestStorage();
+        if (!plugin.getQuestAssigner().isDeterministic()) storage.getJournal().recordAssignment(uuid, tier, epoch, quests);
+        storage.savePlayerQuests(uuid);
     }
 
     /**
-     * Gets all players that currently have quests.
+     * Makes a player's stored quests resident. Nothing is marked for saving.
      *
-     * @return Set of player UUIDs.
+     * @param state The player's stored state.
      */
-    public Set<UUID> getAllPlayers() {
-        Set<UUID> set = new HashSet<>();
-        set.addAll(dailyQuests.keySet());
-        set.addAll(weeklyQuests.keySet());
-        return set;
+    public void loadPlayer(PlayerQuestState state) {
+        players.put(state.getUuid(), state);
+        reindexPlayer(state.getUuid());
     }
 
-    public void setGlobalQuests(List<Quest> quests) {
-        this.globalQuests.clear();
-        this.globalQuests.addAll(quests);
+    /**
+     * Gets a player's state, creating an empty one in the current epochs if they are not loaded yet.
+     *
+     * @param uuid The player's UUID.
+     * @return The player's state.
+     */
+    private PlayerQuestState stateOf(UUID uuid) {
+        return players.computeIfAbsent(uuid, id -> new PlayerQuestState(id, List.of(), List.of(),
+                plugin.getResetClock().currentEpoch(QuestTier.DAILY), plugin.getResetClock().currentEpoch(QuestTier.WEEKLY)));
     }
 
-    public List<Quest> getGlobalQuests() {
-        return globalQuests;
+    /**
+     * Drops a player's quests from memory. Their changes must already be queued for saving.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void unloadPlayer(UUID uuid) {
+        players.remove(uuid);
+        objectiveIndex.removePlayer(uuid);
     }
 
     /**
-     * Loads the last reset date from disk.
+     * Checks whether a player's quests are in memory. Safe to call from any thread.
      *
-     * @return Last reset date or yesterday if not found.
+     * @param uuid The player's UUID.
+     * @return true if the player is loaded.
      */
-    private LocalDate loadLastResetDate() {
-        String stored = config.getString("last_reset", null);
-        if (stored != null) {
-            try {
-                return LocalDate.parse(stored);
-            } catch (Exception ignored) {}
-        }
-        return LocalDate.now().minusDays(1);
+    public boolean isLoaded(UUID uuid) {
+        return players.containsKey(uuid);
     }
 
     /**
-     * Saves the last reset date to file.
+     * Rebuilds the objective index for a player after their quest lists changed.
+     * Only online players are indexed, so offline players never keep quest handlers registered.
      *
-     * @param date The date to save.
+     * @param uuid The player's UUID.
      */
-    private void saveLastResetDate(LocalDate date) {
-        config.set("last_reset", date.toString());
-        try {
-            config.save(resetFile);
-        } catch (IOException e) {
-            e.printStackTrace();
+    public void reindexPlayer(UUID uuid) {
+        PlayerQuestState state = players.get(uuid);
+        if (state == null || Bukkit.getPlayer(uuid) == null) {
+            objectiveIndex.removePlayer(uuid);
+            return;
         }
+        objectiveIndex.indexPlayer(uuid, state.getDaily(), state.getWeekly());
+    }
+
+    /**
+     * Drops a player's objectives from the index when they go offline.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void unindexPlayer(UUID uuid) {
+        objectiveIndex.removePlayer(uuid);
     }
 
     /**
-     * Checks whether quests need to be reset on startup.
-     * Performs daily and weekly resets as needed.
+     * Gets the tracker holding server-wide progress for global quest objectives.
+     *
+     * @return The global progress tracker.
      */
-    public void checkResetOnStartup() {
-        LocalDate today = LocalDate.now();
-        plugin.debug("[Reset] Last reset: " + lastResetDate + ", Today: " + today);
-
-        if (!lastResetDate.equals(today)) {
-            performDailyReset();
-            if (today.getDayOfWeek().getValue() == 1) {
-                performWeeklyReset();
-            }
-            lastResetDate = today;
-            saveLastResetDate(today);
-        } else {
-            plugin.debug("[Reset] Skipped reset; already ran today.");
-        }
+    public GlobalProgressTracker getGlobalProgress() {
+        return globalProgress;
     }
 
     /**
-     * Resets daily quests for all players.
+     * Gets the index used by listeners to find objectives matching an event.
+     *
+     * @return The objective index.
      */
-    public void performDailyReset() {
-        Bukkit.getLogger().info("[QuestPlugin] Performing daily quest reset.");
-    
-        for (UUID uuid : plugin.getQuestManager().getAllPlayers()) {
-            List<Quest> daily = plugin.getQuestAssigner().assignDailyQuests(uuid);
-            List<Quest> weekly = plugin.getQuestManager().getPlayerWeeklyQuests(uuid);
-            plugin.getQuestManager().assignNewDailyQuests(uuid, daily);
-            plugin.getQuestStorage().savePlayerQuests(uuid, daily, weekly);
-        }
-    
-        plugin.getQuestStorage().save();
+    public ObjectiveIndex getObjectiveIndex() {
+        return objectiveIndex;
     }
 
     /**
-     * Resets weekly quests for all players.
+     * Gets all players whose quests are loaded: online players and recently offline ones.
+     *
+     * @return Set of player UUIDs.
      */
-    public void performWeeklyReset() {
-        Bukkit.getLogger().info("[QuestPlugin] Performing weekly quest reset.");
-    
-        for (UUID uuid : plugin.getQuestManager().getAllPlayers()) {
-            List<Quest> weekly = plugin.getQuestAssigner().assignWeeklyQuests(uuid);
-            List<Quest> daily = plugin.getQuestManager().getPlayerDailyQuests(uuid);
-            plugin.getQuestManager().assignNewWeeklyQuests(uuid, weekly);
-            plugin.getQuestStorage().savePlayerQuests(uuid, daily, weekly);
-        }
-    
-        plugin.getQuestStorage().save();
-        Bukkit.getLogger().info("[QuestPlugin] Weekly reset complete.");
+    public Set<UUID> getAllPlayers() {
+        return new HashSet<>(players.keySet());
+    }
+
+    public void setGlobalQuests(List<Quest> quests) {
+        this.globalQuests.clear();
+        this.globalQuests.addAll(quests);
+        globalProgress.track(globalQuests);
+        objectiveIndex.indexGlobal(globalQuests);
+    }
+
+    public List<Quest> getGlobalQuests() {
+        return globalQuests;
     }
 
     /**
@@ -319,10 +414,15 @@ public class QuestManager {
     }
 
     /**
-     * Assigns initial global quests if none exist.
+     * Assigns initial global quests if none exist, restoring saved global quests and their progress first.
      */
     public void assignInitialGlobalQuests() {
         if (!globalQuests.isEmpty()) return;
+        List<Quest> saved = plugin.getQuestStorage().loadGlobalQuests();
+        if (!saved.isEmpty()) {
+            setGlobalQuests(saved);
+            plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Global] Restored " + saved.size() + " saved global quests.");
+        }
         refreshGlobalQuests();
     }
 
@@ -333,14 +433,12 @@ public class QuestManager {
      * @param quest The quest to add.
      */
     public void giveDevQuest(UUID uuid, Quest quest) {
-        List<Quest> existing = plugin.getQuestManager().getPlayerDailyQuests(uuid);
-        boolean alreadyHas = existing.stream().anyMatch(q -> q.getId().equalsIgnoreCase(quest.getId()));
-        if (!alreadyHas) {
-            existing.add(quest);
-            plugin.getQuestStorage().savePlayerQuests(uuid, existing, plugin.getQuestManager().getPlayerWeeklyQuests(uuid));
-            plugin.debug("[Dev] Added quest '" + quest.getId() + "' to player " + uuid);
+        if (stateOf(uuid).addQuest(QuestTier.DAILY, quest)) {
+            reindexPlayer(uuid);
+            plugin.getQuestStorage().savePlayerQuests(uuid);
+            plugin.getTracer().trace(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG, () -> "[Dev] Added quest '" + quest.getId() + "' to player " + uuid);
         } else {
-            plugin.debug("[Dev] Player already has quest '" + quest.getId() + "'");
+            plugin.getTracer().trace(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG, () -> "[Dev] Player already has quest '" + quest.getId() + "'");
         }
     }
 }
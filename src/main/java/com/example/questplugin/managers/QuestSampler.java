@@ -0,0 +1,158 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.model.Quest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Draws distinct quests from a {@link TemplateRegistry.TierPool}, either uniformly or by rarity weight,
+ * skipping templates the player already has.
+ * <p>
+ * Each thread keeps a scratch copy of the pool's Fenwick trees plus a bitset of removed templates. A draw
+ * marks the player's current quests as excluded, then repeatedly picks a point below the remaining weight,
+ * finds its template by descending the tree and removes that template's weight. Afterwards every removed
+ * weight is added back, leaving the scratch ready for the next player. Drawing k of n templates with e
+ * exclusions costs O((k + e) log n) and allocates nothing but the returned quests; the trees are only
+ * copied again after a template reload.
+ */
+public final class QuestSampler {
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private QuestSampler() {
+    }
+
+    /**
+     * Draws up to count distinct quests from a pool.
+     *
+     * @param pool     The tier pool.
+     * @param count    The number of quests to draw.
+     * @param weighted true to draw by rarity weight, false to draw uniformly.
+     * @param excluded Quests whose templates must not be drawn, e.g. the player's current quests. Quests of
+     *                 other tiers are ignored.
+     * @param random   The random source.
+     * @return The drawn quests, fewer than count if the pool runs out.
+     */
+    public static List<Quest> sample(TemplateRegistry.TierPool pool, int count, boolean weighted,
+                                     List<Quest> excluded, Random random) {
+        List<Quest> result = new ArrayList<>(Math.max(0, Math.min(count, pool.size())));
+        if (count <= 0 || pool.size() == 0) return result;
+
+        Scratch scratch = SCRATCH.get();
+        scratch.prepare(pool);
+        int[] tree = weighted ? scratch.weights : scratch.counts;
+        int remaining = weighted ? pool.totalWeight() : pool.size();
+        try {
+            for (Quest quest : excluded) {
+                int index = pool.indexOf(quest.getId());
+                if (index >= 0 && scratch.remove(index)) {
+                    remaining -= weighted ? pool.weight(index) : 1;
+                }
+            }
+            while (result.size() < count && remaining > 0) {
+                int index = find(tree, random.nextInt(remaining));
+                scratch.remove(index);
+                remaining -= weighted ? pool.weight(index) : 1;
+                result.add(pool.get(index).toQuest());
+            }
+        } finally {
+            scratch.restore(pool);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the template whose range in the running sum contains a point.
+     *
+     * @param tree  A 1-based Fenwick tree.
+     * @param point A point below the tree's total.
+     * @return The 0-based index of the template.
+     */
+    private static int find(int[] tree, int point) {
+        int position = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= point) {
+                position = next;
+                point -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Adds a delta to one value of a Fenwick tree.
+     *
+     * @param tree  A 1-based Fenwick tree.
+     * @param index The 0-based index of the value.
+     * @param delta The change.
+     */
+    private static void add(int[] tree, int index, int delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * One thread's working copy of a pool's trees.
+     */
+    private static final class Scratch {
+        private TemplateRegistry.TierPool pool;
+        private int[] weights = new int[0];
+        private int[] counts = new int[0];
+        private long[] removed = new long[0];
+        private int[] removedIndices = new int[16];
+        private int removedCount;
+
+        /**
+         * Copies a pool's trees unless the scratch already holds them.
+         *
+         * @param pool The pool about to be drawn from.
+         */
+        void prepare(TemplateRegistry.TierPool pool) {
+            if (this.pool == pool) return;
+            this.pool = pool;
+            weights = pool.weightTree().clone();
+            counts = pool.countTree().clone();
+            removed = new long[(pool.size() + 63) >>> 6];
+            removedCount = 0;
+        }
+
+        /**
+         * Removes a template from both trees.
+         *
+         * @param index The template index.
+         * @return false if it was already removed.
+         */
+        boolean remove(int index) {
+            long bit = 1L << index;
+            if ((removed[index >>> 6] & bit) != 0) return false;
+            removed[index >>> 6] |= bit;
+            add(weights, index, -pool.weight(index));
+            add(counts, index, -1);
+            if (removedCount == removedIndices.length) {
+                removedIndices = Arrays.copyOf(removedIndices, removedCount * 2);
+            }
+            removedIndices[removedCount++] = index;
+            return true;
+        }
+
+        /**
+         * Adds every removed template back.
+         *
+         * @param pool The pool that was drawn from.
+         */
+        void restore(TemplateRegistry.TierPool pool) {
+            for (int i = 0; i < removedCount; i++) {
+                int index = removedIndices[i];
+                removed[index >>> 6] &= ~(1L << index);
+                add(weights, index, pool.weight(index));
+                add(counts, index, 1);
+            }
+            removedCount = 0;
+        }
+    }
+}
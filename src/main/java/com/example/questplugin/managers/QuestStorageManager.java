@@ -1,18 +1,25 @@
 package com.example.questplugin.managers;
 
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.model.PlayerQuestState;
 import com.example.questplugin.model.Quest;
 import com.example.questplugin.model.QuestTemplate;
+import com.example.questplugin.model.QuestTier;
+import com.example.questplugin.util.QuestTracer;
 
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
-
-import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 /**
  * Manages storage of quest data for players in a plugin.
+ * <p>
+ * Quests are kept in memory while the server runs. Changed players are captured as
+ * {@link PlayerQuestSnapshot}s on the main thread and written by a {@link StorageBackend} on the storage
+ * thread through {@link QuestWriteBehind}. The backend is selected with {@code Storage.Backend}: per-player
+ * files ({@link YamlStorageBackend}, the default) or an embedded SQLite database ({@link SqliteStorageBackend}).
  */
 public class QuestStorageManager {
 
@@ -22,278 +29,533 @@ public class QuestStorageManager {
     private final QuestPlugin plugin;
 
     /**
-     * Map storing player UUIDs to their daily quest data.
+     * Players whose quests changed since the last save. Set by the progress path and by
+     * {@link #savePlayerQuests(UUID)}.
      */
-    private final Map<UUID, PlayerQuestData> playerQuestData = new HashMap<>();
+    private final Set<UUID> dirtyPlayers = new HashSet<>();
 
     /**
-     * Map storing player UUIDs to their saved daily quests.
+     * Where player quests, global progress, leaderboard scores and completion stats are stored.
      */
-    private final Map<UUID, List<Quest>> savedDaily = new HashMap<>();
+    private final StorageBackend backend;
 
     /**
-     * Map storing player UUIDs to their saved weekly quests.
+     * Queues snapshots taken on the main thread and writes them on the storage thread.
      */
-    private final Map<UUID, List<Quest>> savedWeekly = new HashMap<>();
+    private final QuestWriteBehind writeBehind;
 
     /**
-     * The file where player quest data is stored.
+     * Journal of progress made since the last checkpoint, replayed on top of the stored quests on startup.
      */
-    private final File file;
+    private final ProgressJournal journal;
 
     /**
-     * Configuration for the player_quests.yml file.
+     * Whether only quests with progress are stored, because {@code Assignments.Deterministic} lets the
+     * quests themselves be recomputed, see {@link QuestAssigner#getSeededQuests}.
      */
-    private FileConfiguration config;
+    private final boolean progressOnly;
 
     /**
-     * Constructs a new QuestStorageManager instance and loads existing data if available.
+     * Constructs a new QuestStorageManager instance, opens the configured backend and folds progress left in
+     * the journal by a crash into the stored quests. Players are loaded on demand, see {@link PlayerCache}.
      *
      * @param plugin The main plugin instance.
+     * @throws IllegalStateException If the SQLite database could not be opened.
      */
     public QuestStorageManager(QuestPlugin plugin) {
         this.plugin = plugin;
-        this.file = new File(plugin.getDataFolder(), "player_quests.yml");
+        this.backend = createBackend();
+        this.progressOnly = plugin.getConfig().getBoolean("Assignments.Deterministic", false);
+        this.journal = new ProgressJournal(plugin);
+        replayJournal();
+        this.writeBehind = new QuestWriteBehind(plugin, this::write);
+    }
 
-        // Check if the file exists, and create it if not
-        if (!file.exists()) {
-            plugin.saveResource("player_quests.yml", false);
-            plugin.debug("[Storage] Created new player_quests.yml");
-        }
+    /**
+     * Gets the reset epoch a player's replayed quests of a tier belong to. Records only apply to stored
+     * quests of their own epoch. When the journal holds a later period than the stored tier, the tier moves
+     * to it if that period's quests can be rebuilt: with seeded assignments they are recomputed, otherwise
+     * the journal must hold their assignment. If it does not, the later progress cannot be placed; it is
+     * logged and the journal is kept rather than compacted away.
+     *
+     * @param uuid   The player's UUID.
+     * @param tier   {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param stored The stored epoch of the tier.
+     * @return The epoch to replay into.
+     */
+    private long replayedEpoch(UUID uuid, QuestTier tier, long stored) {
+        long newest = journal.getReplayedEpoch(uuid, tier);
+        if (newest <= stored) return stored;
+        if (progressOnly || journal.getReplayedAssignment(uuid, tier, newest) != null) return newest;
+        journal.markReplayFailed();
+        plugin.getLogger().warning("[Storage] Journal progress on " + uuid + "'s " + tier
+                + " quests has no recorded assignment and cannot be restored, the journal is kept.");
+        return stored;
+    }
 
-        this.config = YamlConfiguration.loadConfiguration(file);
-        load();
+    /**
+     * Applies a player's replayed records of a tier to the quests of the epoch they are replayed into: the
+     * stored quests if the epoch is the stored one, otherwise the quests assigned in the journal, or none
+     * with seeded assignments, where the replayed quests are added to a recomputed set.
+     *
+     * @param uuid        The player's UUID.
+     * @param tier        {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param epoch       The epoch to replay into, see {@link #replayedEpoch}.
+     * @param storedEpoch The stored epoch of the tier.
+     * @param stored      The stored records of the tier.
+     * @return The records with journal progress applied.
+     */
+    private List<PlayerQuestSnapshot.QuestRecord> replayTier(UUID uuid, QuestTier tier, long epoch, long storedEpoch,
+                                                             List<PlayerQuestSnapshot.QuestRecord> stored) {
+        List<PlayerQuestSnapshot.QuestRecord> base = stored;
+        if (epoch != storedEpoch) {
+            base = new ArrayList<>();
+            if (!progressOnly) {
+                for (String id : journal.getReplayedAssignment(uuid, tier, epoch)) {
+                    base.add(new PlayerQuestSnapshot.QuestRecord(id, false, new String[0], new int[0]));
+                }
+            }
+        }
+        return journal.applyReplay(uuid, tier, epoch, base, progressOnly);
     }
 
     /**
-     * Returns a set containing all UUIDs of players with stored quest data.
+     * Creates the backend selected by {@code Storage.Backend}. There is no fallback to files when the
+     * database cannot be opened, since running on stale file data would lose progress later.
      *
-     * @return Set of player UUIDs.
+     * @return The backend.
+     */
+    private StorageBackend createBackend() {
+        String type = plugin.getConfig().getString("Storage.Backend", "YAML");
+        if (!"SQLITE".equalsIgnoreCase(type)) {
+            if (!"YAML".equalsIgnoreCase(type)) {
+                plugin.getLogger().warning("[Storage] Unknown Storage.Backend '" + type + "', using YAML.");
+            }
+            return new YamlStorageBackend(plugin);
+        }
+        try {
+            plugin.log("[Storage] Using the SQLite backend.");
+            return new SqliteStorageBackend(plugin);
+        } catch (IOException e) {
+            throw new IllegalStateException("[Storage] Could not open the SQLite database", e);
+        }
+    }
+
+
+    /**
+     * Writes progress replayed from the journal into the stored quests of the players it belongs to, so
+     * players loaded later see it. Runs once during startup, before the storage thread starts. If any of it
+     * cannot be read or written, the journal is marked so its segments are kept for the next start.
+     * <p>
+     * A player whose quests were assigned after their last save has nothing stored for that period yet.
+     * With seeded assignments their quests are recomputed from the period, otherwise they are rebuilt from
+     * the assignment the journal recorded, see {@link #replayedEpoch}.
      */
-    public Set<UUID> getAllStoredPlayers() {
-        return playerQuestData.keySet();
+    private void replayJournal() {
+        List<PlayerQuestSnapshot> batch = new ArrayList<>();
+        ResetClock clock = plugin.getResetClock();
+        for (UUID uuid : journal.getReplayedOwners()) {
+            if (uuid.equals(ProgressJournal.GLOBAL_OWNER)) continue;
+            try {
+                PlayerQuestSnapshot stored = backend.loadPlayer(uuid);
+                if (stored == null) {
+                    stored = progressOnly
+                            ? new PlayerQuestSnapshot(uuid, true, List.of(), List.of(),
+                                    clock.currentEpoch(QuestTier.DAILY), clock.currentEpoch(QuestTier.WEEKLY))
+                            : new PlayerQuestSnapshot(uuid, true, List.of(), List.of(),
+                                    PlayerQuestSnapshot.UNSTAMPED, PlayerQuestSnapshot.UNSTAMPED);
+                }
+                long dailyEpoch = replayedEpoch(uuid, QuestTier.DAILY, stored.dailyEpoch());
+                long weeklyEpoch = replayedEpoch(uuid, QuestTier.WEEKLY, stored.weeklyEpoch());
+                batch.add(new PlayerQuestSnapshot(uuid, true,
+                        replayTier(uuid, QuestTier.DAILY, dailyEpoch, stored.dailyEpoch(), stored.daily()),
+                        replayTier(uuid, QuestTier.WEEKLY, weeklyEpoch, stored.weeklyEpoch(), stored.weekly()),
+                        dailyEpoch, weeklyEpoch));
+            } catch (IOException e) {
+                journal.markReplayFailed();
+                plugin.getLogger().warning("[Storage] Failed to load quest data for " + uuid + ", its journal progress is kept: " + e.getMessage());
+            }
+        }
+        if (batch.isEmpty()) return;
+        try {
+            backend.savePlayers(batch);
+            plugin.log("[Storage] Restored journal progress for " + batch.size() + " players.");
+        } catch (IOException e) {
+            journal.markReplayFailed();
+            plugin.getLogger().severe("[Storage] Failed to save journal progress, the journal is kept: " + e.getMessage());
+        }
     }
 
     /**
-     * Loads the daily quests for a specific player from storage.
+     * Starts loading a player's quests on the storage thread, after every write already queued, so the load
+     * always sees the player's latest saved state.
      *
      * @param uuid The player's UUID.
-     * @return List of daily quests, or an empty list if none exist.
+     * @return The pending load. Its future completes with the stored snapshot, or null if nothing is stored.
      */
-    public List<Quest> loadPlayerDailyQuests(UUID uuid) {
-        return playerQuestData.containsKey(uuid) ? playerQuestData.get(uuid).getDailyQuests() : new ArrayList<>();
+    public PendingLoad loadAsync(UUID uuid) {
+        return new PendingLoad(uuid, query(backend -> backend.loadPlayer(uuid)));
     }
 
     /**
-     * Loads the weekly quests for a specific player from storage.
+     * Reads a quest's completion stats on the storage thread, after every write already queued.
      *
-     * @param uuid The player's UUID.
-     * @return List of weekly quests, or an empty list if none exist.
+     * @param questId The quest ID.
+     * @return A future completing on the storage thread with the stats.
+     */
+    public CompletableFuture<StorageBackend.CompletionStats> getCompletionStatsAsync(String questId) {
+        return query(backend -> backend.getCompletionStats(questId));
+    }
+
+    /**
+     * Reads the IDs of every quest with recorded completions on the storage thread, after every write
+     * already queued.
+     *
+     * @return A future completing on the storage thread with the quest IDs.
      */
-    public List<Quest> loadPlayerWeeklyQuests(UUID uuid) {
-        return playerQuestData.containsKey(uuid) ? playerQuestData.get(uuid).getWeeklyQuests() : new ArrayList<>();
+    public CompletableFuture<Set<String>> getCompletedQuestIdsAsync() {
+        return query(StorageBackend::getCompletedQuestIds);
     }
 
     /**
-     * Loads player quest data from storage into the QuestManager instance.
+     * Runs a read against the backend on the storage thread, ordered after queued writes.
      *
-     * @param questManager The QuestManager instance to load data into.
-     */
-    public void loadIntoManager(QuestManager questManager) {
-        plugin.debug("[Storage] Loading saved quests into QuestManager...");
-        for (UUID uuid : getAllStoredPlayers()) {
-            List<Quest> daily = loadPlayerDailyQuests(uuid);
-            List<Quest> weekly = loadPlayerWeeklyQuests(uuid);
-            questManager.assignNewDailyQuests(uuid, daily);
-            questManager.assignNewWeeklyQuests(uuid, weekly);
-            plugin.debug("[Storage] Loaded " + daily.size() + " daily and " + weekly.size() + " weekly quests for " + uuid);
+     * @param query The read.
+     * @return A future completing on the storage thread with the result, or exceptionally if the read failed
+     *         or the storage thread has stopped.
+     */
+    private <T> CompletableFuture<T> query(StorageQuery<T> query) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        boolean queued = writeBehind.execute(() -> {
+            try {
+                future.complete(query.run(backend));
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        if (!queued) future.completeExceptionally(new IOException("The storage thread has stopped"));
+        return future;
+    }
+
+    /**
+     * Creates a player's state from a completed load. Stale tiers are kept as stored, with their epochs, and
+     * replaced by {@link QuestManager#refresh(UUID)} once the player is resident. Quests stored before epochs
+     * were recorded are adopted into the current epoch. With seeded assignments, a current tier is recomputed
+     * and the stored progress applied on top. Runs on the main thread.
+     *
+     * @param uuid     The player's UUID.
+     * @param snapshot The loaded snapshot, or null if nothing was stored.
+     * @return The player's state.
+     */
+    public PlayerQuestState toPlayerState(UUID uuid, PlayerQuestSnapshot snapshot) {
+        ResetClock clock = plugin.getResetClock();
+        if (snapshot == null) {
+            return new PlayerQuestState(uuid, List.of(), List.of(),
+                    clock.currentEpoch(QuestTier.DAILY), clock.currentEpoch(QuestTier.WEEKLY));
         }
+        List<Quest> daily = toQuests(uuid, QuestTier.DAILY, snapshot.daily(), snapshot.dailyEpoch());
+        List<Quest> weekly = toQuests(uuid, QuestTier.WEEKLY, snapshot.weekly(), snapshot.weeklyEpoch());
+        long dailyEpoch = snapshot.dailyEpoch() == PlayerQuestSnapshot.UNSTAMPED
+                ? clock.currentEpoch(QuestTier.DAILY) : snapshot.dailyEpoch();
+        long weeklyEpoch = snapshot.weeklyEpoch() == PlayerQuestSnapshot.UNSTAMPED
+                ? clock.currentEpoch(QuestTier.WEEKLY) : snapshot.weeklyEpoch();
+        plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Storage] Loaded " + daily.size() + " daily and " + weekly.size() + " weekly quests for " + uuid);
+        return new PlayerQuestState(uuid, daily, weekly, dailyEpoch, weeklyEpoch);
     }
 
     /**
-     * Saves player quest data from the QuestManager instance back to storage.
+     * Creates a player's quests of a tier from stored records. With seeded assignments and a current epoch
+     * the tier's quests are recomputed, stored progress is applied to them, and stored quests outside the
+     * computed set that have progress, e.g. from before a template change, are kept after them.
      *
-     * @param questManager The QuestManager instance to save data from.
-     */
-    public void saveFromManager(QuestManager questManager) {
-        plugin.debug("[Storage] Saving player quest data from manager...");
-        for (UUID uuid : questManager.getAllPlayers()) {
-            List<Quest> daily = questManager.getPlayerDailyQuests(uuid);
-            List<Quest> weekly = questManager.getPlayerWeeklyQuests(uuid);
-            savePlayerQuests(uuid, daily, weekly);
-            plugin.debug("[Storage] Saved " + daily.size() + " daily and " + weekly.size() + " weekly quests for " + uuid);
+     * @param uuid    The player's UUID.
+     * @param tier    {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param records The stored quest records.
+     * @param epoch   The stored epoch of the tier.
+     * @return The quests.
+     */
+    private List<Quest> toQuests(UUID uuid, QuestTier tier, List<PlayerQuestSnapshot.QuestRecord> records, long epoch) {
+        if (!progressOnly || epoch != plugin.getResetClock().currentEpoch(tier)) {
+            return toQuests(records, uuid);
+        }
+        List<Quest> quests = plugin.getQuestAssigner().getSeededQuests(uuid, tier, epoch, plugin.getQuestManager().getQuestLimit(tier));
+        Map<String, PlayerQuestSnapshot.QuestRecord> byId = new HashMap<>();
+        for (PlayerQuestSnapshot.QuestRecord record : records) byId.put(record.id(), record);
+        for (Quest quest : quests) {
+            PlayerQuestSnapshot.QuestRecord record = byId.remove(quest.getId());
+            if (record != null) apply(quest, record);
         }
-        save();
+        List<PlayerQuestSnapshot.QuestRecord> extra = new ArrayList<>();
+        for (PlayerQuestSnapshot.QuestRecord record : records) {
+            if (byId.containsKey(record.id()) && record.hasProgress()) extra.add(record);
+        }
+        quests.addAll(toQuests(extra, uuid));
+        return quests;
     }
 
     /**
-     * Loads player quest data from the player_quests.yml file into storage.
-     */
-    public void load() {
-        plugin.debug("[Storage] Loading quests from player_quests.yml...");
-        for (String uuidStr : config.getKeys(false)) {
-            UUID uuid = UUID.fromString(uuidStr);
-            List<Quest> daily = new ArrayList<>();
-            List<Quest> weekly = new ArrayList<>();
-
-            if (config.contains(uuidStr + ".daily")) {
-                for (String key : config.getConfigurationSection(uuidStr + ".daily").getKeys(false)) {
-                    QuestTemplate template = plugin.getQuestLoader().getAllTemplates().stream()
-                            .filter(q -> q.getId().equals(key)).findFirst().orElse(null);
-                    if (template == null) {
-                        plugin.debug("[Storage] Skipped unknown daily quest ID: " + key);
-                        continue;
-                    }
-                    Quest quest = new Quest(template, uuid);
-                    for (QuestTemplate.Objective obj : template.getObjectives()) {
-                        String path = uuidStr + ".daily." + key + ".objectives." + obj.getTargetKey();
-                        quest.getQuestObjectives().stream()
-                                .filter(qObj -> qObj.getTargetKey().equals(obj.getTargetKey()))
-                                .findFirst()
-                                .ifPresent(qObj -> {
-                                    qObj.setProgress(config.getInt(path + ".progress"));
-                                    if (config.getBoolean(path + ".claimed")) quest.setRewardClaimed();
-                                });
-                    }
-                    daily.add(quest);
-                }
+     * Creates quests from stored records, applying their saved progress.
+     *
+     * @param records The stored quest records.
+     * @param uuid    The player's UUID.
+     * @return The quests, skipping IDs that no longer have a template.
+     */
+    private List<Quest> toQuests(List<PlayerQuestSnapshot.QuestRecord> records, UUID uuid) {
+        List<Quest> quests = new ArrayList<>(records.size());
+        TemplateRegistry templates = plugin.getQuestLoader().getRegistry();
+        for (PlayerQuestSnapshot.QuestRecord record : records) {
+            QuestTemplate template = templates.get(record.id());
+            if (template == null) {
+                plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Storage] Skipped unknown quest ID: " + record.id());
+                continue;
             }
+            Quest quest = new Quest(template, uuid);
+            apply(quest, record);
+            quests.add(quest);
+        }
+        return quests;
+    }
 
-            if (config.contains(uuidStr + ".weekly")) {
-                for (String key : config.getConfigurationSection(uuidStr + ".weekly").getKeys(false)) {
-                    QuestTemplate template = plugin.getQuestLoader().getAllTemplates().stream()
-                            .filter(q -> q.getId().equals(key)).findFirst().orElse(null);
-                    if (template == null) {
-                        plugin.debug("[Storage] Skipped unknown weekly quest ID: " + key);
-                        continue;
-                    }
-                    Quest quest = new Quest(template, uuid);
-                    for (QuestTemplate.Objective obj : template.getObjectives()) {
-                        String path = uuidStr + ".weekly." + key + ".objectives." + obj.getTargetKey();
-                        quest.getQuestObjectives().stream()
-                                .filter(qObj -> qObj.getTargetKey().equals(obj.getTargetKey()))
-                                .findFirst()
-                                .ifPresent(qObj -> {
-                                    qObj.setProgress(config.getInt(path + ".progress"));
-                                    if (config.getBoolean(path + ".claimed")) quest.setRewardClaimed();
-                                });
-                    }
-                    weekly.add(quest);
+    /**
+     * Applies a stored record's claimed flag and objective progress to a fresh quest.
+     *
+     * @param quest  The quest.
+     * @param record The stored record of the same quest.
+     */
+    private static void apply(Quest quest, PlayerQuestSnapshot.QuestRecord record) {
+        if (record.claimed()) quest.setRewardClaimed();
+        for (QuestTemplate.Objective obj : quest.getQuestObjectives()) {
+            for (int i = 0; i < record.targetKeys().length; i++) {
+                if (record.targetKeys()[i].equals(obj.getTargetKey())) {
+                    obj.setProgress(record.progress()[i]);
+                    break;
                 }
             }
-
-            savedDaily.put(uuid, daily);
-            savedWeekly.put(uuid, weekly);
-            playerQuestData.put(uuid, new PlayerQuestData(daily, weekly));
-            plugin.debug("[Storage] Loaded " + daily.size() + " daily and " + weekly.size() + " weekly quests for " + uuid);
         }
+        quest.recount();
+        quest.clearDirty();
     }
 
     /**
-     * Saves player quest data from storage to the player_quests.yml file.
+     * Queues the quest data that changed since the last save to be written to the players' files. Only
+     * dirty players are visited, and of those only dirty quests are copied unless the player's quest
+     * lists were replaced since their last full save. Serialization and disk I/O happen on the storage
+     * thread.
      */
     public void save() {
-        plugin.debug("[Storage] Saving player_quests.yml...");
-        for (UUID uuid : savedDaily.keySet()) {
-            for (Quest q : savedDaily.get(uuid)) {
-                String path = uuid.toString() + ".daily." + q.getId();
-                config.set(path + ".progress", q.getCurrentProgress());
-                config.set(path + ".claimed", q.isRewardClaimed());
-            }
-        }
-        for (UUID uuid : savedWeekly.keySet()) {
-            for (Quest q : savedWeekly.get(uuid)) {
-                String path = uuid.toString() + ".weekly." + q.getId();
-                config.set(path + ".progress", q.getCurrentProgress());
-                config.set(path + ".claimed", q.isRewardClaimed());
-            }
+        if (dirtyPlayers.isEmpty()) return;
+        int dirty = dirtyPlayers.size();
+        int replaced = 0;
+        QuestManager questManager = plugin.getQuestManager();
+        for (UUID uuid : dirtyPlayers) {
+            if (capture(questManager.getState(uuid))) replaced++;
         }
+        dirtyPlayers.clear();
+        int full = replaced;
+        plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Storage] Queued " + dirty + " changed players (" + full + " replaced)");
+    }
 
-        try {
-            config.save(file);
-            plugin.debug("[Storage] Quest data successfully saved to file.");
-        } catch (IOException e) {
-            plugin.log("[Storage] Failed to save player_quests.yml: " + e.getMessage());
-            e.printStackTrace();
-        }
+    /**
+     * Queues one player's changes for writing, e.g. before they are unloaded.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void save(UUID uuid) {
+        if (!dirtyPlayers.remove(uuid)) return;
+        capture(plugin.getQuestManager().getState(uuid));
     }
 
     /**
-     * Saves provided daily and weekly quest lists for a specific player UUID.
+     * Queues a snapshot of a loaded player's quests, in full if their quest lists were replaced since the
+     * last full save.
      *
-     * @param uuid   The player's UUID.
-     * @param daily  The list of daily quests to save.
-     * @param weekly The list of weekly quests to save.
-     */
-    public void savePlayerQuests(UUID uuid, List<Quest> daily, List<Quest> weekly) {
-        savedDaily.put(uuid, daily);
-        savedWeekly.put(uuid, weekly);
-        playerQuestData.put(uuid, new PlayerQuestData(daily, weekly));
-        plugin.debug("[Storage] Queued quest data for " + uuid);
+     * @param state The player's state, or null if they are no longer loaded.
+     * @return true if the snapshot is a full one.
+     */
+    private boolean capture(PlayerQuestState state) {
+        if (state == null) return false;
+        boolean replaced = state.markSaved();
+        writeBehind.submit(PlayerQuestSnapshot.capture(state, replaced, progressOnly));
+        return replaced;
     }
 
     /**
-     * Returns the list of saved daily quests for a specific player UUID.
+     * Checks whether a player has changes that were not queued for writing yet.
      *
      * @param uuid The player's UUID.
-     * @return List of saved daily quests, or an empty list if none exist.
+     * @return true if the player is dirty.
      */
-    public List<Quest> getSavedDaily(UUID uuid) {
-        return savedDaily.getOrDefault(uuid, new ArrayList<>());
+    public boolean isDirty(UUID uuid) {
+        return dirtyPlayers.contains(uuid);
     }
 
     /**
-     * Returns the list of saved weekly quests for a specific player UUID.
+     * Marks a player as having unsaved quest progress. The changed quests themselves are tracked by
+     * {@link Quest#isDirty()}.
      *
      * @param uuid The player's UUID.
-     * @return List of saved weekly quests, or an empty list if none exist.
      */
-    public List<Quest> getSavedWeekly(UUID uuid) {
-        return savedWeekly.getOrDefault(uuid, new ArrayList<>());
+    public void markDirty(UUID uuid) {
+        dirtyPlayers.add(uuid);
     }
 
     /**
-     * Represents a player's daily and weekly quest data.
+     * Gets the number of players with changes that have not been queued for writing yet.
+     *
+     * @return The dirty player count.
      */
-    public class PlayerQuestData {
+    public int getDirtyCount() {
+        return dirtyPlayers.size();
+    }
 
-        /**
-         * The list of daily quests for this player.
-         */
-        private final List<Quest> daily;
+    /**
+     * Writes a batch of snapshots through the backend. Runs on the storage thread.
+     * A full snapshot replaces everything stored for the player, so quests removed by a reset do not
+     * linger; a partial one only overwrites the quests it holds.
+     *
+     * @param batch The snapshots to write.
+     */
+    private void write(List<PlayerQuestSnapshot> batch) {
+        try {
+            backend.savePlayers(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        /**
-         * The list of weekly quests for this player.
-         */
-        private final List<Quest> weekly;
+    /**
+     * Rewrites every stored player file in the given format, e.g. to YAML so the data can be inspected,
+     * and keeps writing that format until the next restart. Runs on the storage thread, so it is ordered
+     * with queued writes. Only applies to the file backend.
+     *
+     * @param toBinary True to convert to the binary format, false for YAML.
+     * @param done     Called on the storage thread with the number of converted and failed files.
+     * @return false if the backend does not use player files or the storage thread could not accept the task.
+     */
+    public boolean convertAll(boolean toBinary, BiConsumer<Integer, Integer> done) {
+        if (!(backend instanceof YamlStorageBackend files)) return false;
+        return writeBehind.execute(() -> {
+            int[] result = files.convertAll(toBinary);
+            done.accept(result[0], result[1]);
+        });
+    }
 
-        /**
-         * Constructs a new PlayerQuestData instance with provided daily and weekly quest lists.
-         *
-         * @param daily   The list of daily quests.
-         * @param weekly The list of weekly quests.
-         */
-        public PlayerQuestData(List<Quest> daily, List<Quest> weekly) {
-            this.daily = daily;
-            this.weekly = weekly;
+    /**
+     * Runs a storage operation on the storage thread, after any queued player writes. Failures are logged.
+     *
+     * @param description What the operation does, for the log.
+     * @param operation   The operation, given the backend.
+     */
+    public void submit(String description, StorageOperation operation) {
+        Runnable task = () -> {
+            try {
+                operation.run(backend);
+            } catch (IOException e) {
+                plugin.getLogger().warning("[Storage] Failed to " + description + ": " + e.getMessage());
+            }
+        };
+        if (!writeBehind.execute(task)) {
+            // The storage thread has stopped; write directly during shutdown
+            task.run();
         }
+    }
 
-        /**
-         * Returns the list of daily quests for this player.
-         *
-         * @return List of daily quests.
-         */
-        public List<Quest> getDailyQuests() {
-            return daily;
+    /**
+     * Loads the saved global quests with their objective progress, with any progress replayed from the
+     * journal on startup applied.
+     *
+     * @return The global quests, skipping IDs that no longer have a template.
+     */
+    public List<Quest> loadGlobalQuests() {
+        try {
+            List<PlayerQuestSnapshot.QuestRecord> records = backend.loadGlobalQuests();
+            return toQuests(journal.applyReplay(ProgressJournal.GLOBAL_OWNER, QuestTier.GLOBAL, records), ProgressJournal.GLOBAL_OWNER);
+        } catch (IOException e) {
+            plugin.getLogger().warning("[Storage] Failed to load global quests: " + e.getMessage());
+            return new ArrayList<>();
         }
+    }
 
-        /**
-         * Returns the list of weekly quests for this player.
-         *
-         * @return List of weekly quests.
-         */
-        public List<Quest> getWeeklyQuests() {
-            return weekly;
-        }
+    /**
+     * Queues global quest records, captured on the main thread, for saving.
+     *
+     * @param records The active global quests.
+     */
+    public void saveGlobalQuests(List<PlayerQuestSnapshot.QuestRecord> records) {
+        submit("save global quests", storage -> storage.saveGlobalQuests(records));
+    }
+
+    /**
+     * Gets the storage backend, e.g. for leaderboard and completion stats.
+     *
+     * @return The backend.
+     */
+    public StorageBackend getBackend() {
+        return backend;
     }
+
+    /**
+     * Writes all queued quest data, stops the storage thread and closes the backend and the journal. Blocks
+     * for up to {@code Storage.ShutdownTimeout} seconds.
+     */
+    public void close() {
+        writeBehind.close(Math.max(1L, plugin.getConfig().getLong("Storage.ShutdownTimeout", 30L)));
+        backend.close();
+        journal.close();
+    }
+
+    /**
+     * Gets the progress journal.
+     *
+     * @return The journal.
+     */
+    public ProgressJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Gets the write-behind queue, e.g. to report its counters.
+     *
+     * @return The write-behind queue.
+     */
+    public QuestWriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Marks a player whose quest lists were replaced, e.g. by a reset or a new assignment, for the next
+     * save. The lists are written in full because their {@link PlayerQuestState} version changed.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void savePlayerQuests(UUID uuid) {
+        dirtyPlayers.add(uuid);
+        plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Storage] Queued quest data for " + uuid);
+    }
+
+    /**
+     * An operation run against the backend on the storage thread.
+     */
+    @FunctionalInterface
+    public interface StorageOperation {
+        void run(StorageBackend backend) throws IOException;
+    }
+
+    /**
+     * A read run against the backend on the storage thread.
+     *
+     * @param <T> The type of the result.
+     */
+    @FunctionalInterface
+    private interface StorageQuery<T> {
+        T run(StorageBackend backend) throws IOException;
+    }
+
+    /**
+     * A player load in flight.
+     *
+     * @param uuid   The player's UUID.
+     * @param future Completes with the stored snapshot, or null if nothing is stored for the player.
+     */
+    public record PendingLoad(UUID uuid, CompletableFuture<PlayerQuestSnapshot> future) {}
 }
@@ -0,0 +1,236 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.util.QuestTracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind queue for player quest data.
+ * <p>
+ * The main thread submits {@link PlayerQuestSnapshot}s; a single background thread hands them to a writer
+ * in batches. Snapshots for the same player coalesce into one, so a player is written at most once per
+ * batch however often they are saved while a write is in progress. At most one drain task is ever queued on the executor,
+ * so the backlog is bounded by the number of players with unsaved changes.
+ */
+public class QuestWriteBehind {
+
+    private final QuestPlugin plugin;
+    private final Consumer<List<PlayerQuestSnapshot>> writer;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Latest unwritten snapshot per player.
+     */
+    private final ConcurrentHashMap<UUID, PlayerQuestSnapshot> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Storage tasks waiting for the next drain, in submission order.
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether a drain task is queued and has not started yet.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Constructs a new QuestWriteBehind and starts its storage thread.
+     *
+     * @param plugin The main plugin instance.
+     * @param writer Writes a batch of snapshots. Always called from the storage thread, one batch at a time.
+     */
+    public QuestWriteBehind(QuestPlugin plugin, Consumer<List<PlayerQuestSnapshot>> writer) {
+        this.plugin = plugin;
+        this.writer = writer;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), runnable -> {
+                    Thread thread = new Thread(runnable, "QuestPlugin-Storage");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues a snapshot for writing, merging it into any unwritten snapshot of the same player.
+     *
+     * @param snapshot The snapshot.
+     */
+    public void submit(PlayerQuestSnapshot snapshot) {
+        if (snapshot.isEmpty()) return;
+        submitted.incrementAndGet();
+        pending.merge(snapshot.uuid(), snapshot, (older, newer) -> {
+            coalesced.incrementAndGet();
+            return older.merge(newer);
+        });
+        schedule();
+    }
+
+    /**
+     * Queues a drain task unless one is already waiting.
+     */
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) return;
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Shut down; close() writes whatever is left on the calling thread
+            scheduled.set(false);
+        }
+    }
+
+    /**
+     * Runs a task on the storage thread with the next drain, after the pending player batch.
+     *
+     * @param task The task.
+     * @return false if the storage thread was stopped and the task will not run.
+     */
+    public boolean execute(Runnable task) {
+        if (executor.isShutdown()) return false;
+        tasks.add(task);
+        schedule();
+        return true;
+    }
+
+    /**
+     * Takes every pending snapshot and writes them as one batch, then runs the storage tasks that were queued
+     * before the batch was taken. A task therefore always runs after every snapshot submitted before it.
+     */
+    private void drain() {
+        scheduled.set(false);
+        List<Runnable> queued = new ArrayList<>();
+        Runnable task;
+        while ((task = tasks.poll()) != null) queued.add(task);
+        writeBatch();
+
+        for (Runnable queuedTask : queued) {
+            try {
+                queuedTask.run();
+            } catch (Exception e) {
+                plugin.getLogger().warning("[Storage] Storage task failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Writes every pending snapshot as one batch.
+     */
+    private void writeBatch() {
+        List<PlayerQuestSnapshot> batch = new ArrayList<>(pending.size());
+        for (UUID uuid : pending.keySet()) {
+            PlayerQuestSnapshot snapshot = pending.remove(uuid);
+            if (snapshot != null) batch.add(snapshot);
+        }
+        if (batch.isEmpty()) return;
+
+        long start = System.nanoTime();
+        try {
+            writer.accept(batch);
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            plugin.getLogger().warning("[Storage] Failed to write quest data for " + batch.size() + " players: " + e.getMessage());
+            e.printStackTrace();
+            // Put the batch back underneath any newer snapshots, so the next save retries it
+            for (PlayerQuestSnapshot snapshot : batch) {
+                pending.merge(snapshot.uuid(), snapshot, (newer, failed) -> failed.merge(newer));
+            }
+            return;
+        }
+        plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG,
+                () -> "[Storage] Wrote " + batch.size() + " players in " + (System.nanoTime() - start) / 1_000_000L + "ms");
+    }
+
+    /**
+     * Writes everything still pending and stops the storage thread, waiting up to the given timeout.
+     * Called from {@code onDisable}.
+     *
+     * @param timeoutSeconds How long to wait for queued writes.
+     */
+    public void close(long timeoutSeconds) {
+        schedule();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("[Storage] Timed out after " + timeoutSeconds + "s waiting for quest data to be written.");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            plugin.getLogger().warning("[Storage] Interrupted while waiting for quest data to be written.");
+            return;
+        }
+        if (!pending.isEmpty() || !tasks.isEmpty()) {
+            drain();
+        }
+    }
+
+    /**
+     * Gets the number of players with a snapshot waiting to be written.
+     *
+     * @return The pending count.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the number of snapshots submitted since startup.
+     *
+     * @return The submitted count.
+     */
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    /**
+     * Gets the number of snapshots that replaced an unwritten snapshot of the same player.
+     *
+     * @return The coalesced count.
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Gets the number of snapshots written to disk since startup.
+     *
+     * @return The written count.
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * Gets the number of batches written since startup.
+     *
+     * @return The batch count.
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Gets the number of batches that failed to write since startup.
+     *
+     * @return The failed batch count.
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.model.QuestTier;
+import com.example.questplugin.util.CronExpression;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.DayOfWeek;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.function.UnaryOperator;
+
+/**
+ * Schedules the daily and weekly resets and numbers the periods between them. The current period of a
+ * tier is its reset epoch: the epoch second of the tier's next reset, so it changes exactly when a reset
+ * fires.
+ * <p>
+ * With {@code Reset.UseCron} the reset times come from the cron expressions {@code Reset.DailyTime} and
+ * {@code Reset.WeeklyTime}, see {@link CronExpression}; otherwise the daily reset is at local midnight and
+ * the weekly reset at midnight on Monday.
+ * <p>
+ * Each player's quests are stamped with the epoch they were assigned in, and
+ * {@link QuestManager#refresh(java.util.UUID)} replaces a tier whose stamp is not the current epoch. When a
+ * reset fires, the clock refreshes every online player; offline players are refreshed when they are next
+ * loaded. The clock itself sleeps on a single task until the next reset is due, so between resets it costs
+ * nothing per tick.
+ */
+public class ResetClock {
+
+    /**
+     * The longest the timer sleeps before checking the wall clock again, in ticks (one hour). Ticks run
+     * slow while the server lags, so a very long sleep could fire well after the reset time.
+     */
+    private static final long MAX_SLEEP_TICKS = 72_000L;
+
+    private final QuestPlugin plugin;
+    private final UnaryOperator<ZonedDateTime> dailySchedule;
+    private final UnaryOperator<ZonedDateTime> weeklySchedule;
+
+    private volatile ZonedDateTime nextDaily;
+    private volatile ZonedDateTime nextWeekly;
+    private volatile long dailyEpoch;
+    private volatile long weeklyEpoch;
+
+    private BukkitTask task;
+
+    /**
+     * Constructs a new ResetClock from the {@code Reset} config section, at the current epochs. An invalid
+     * cron expression is logged and replaced by the midnight schedule.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public ResetClock(QuestPlugin plugin) {
+        this.plugin = plugin;
+        boolean useCron = plugin.getConfig().getBoolean("Reset.UseCron", true);
+        this.dailySchedule = schedule(useCron, "Reset.DailyTime", "0 0 6 * * *", ResetClock::nextMidnight);
+        this.weeklySchedule = schedule(useCron, "Reset.WeeklyTime", "0 0 6 ? * MON", ResetClock::nextMonday);
+
+        ZonedDateTime now = ZonedDateTime.now();
+        this.nextDaily = dailySchedule.apply(now);
+        this.nextWeekly = weeklySchedule.apply(now);
+        this.dailyEpoch = nextDaily.toEpochSecond();
+        this.weeklyEpoch = nextWeekly.toEpochSecond();
+        plugin.log("[Reset] Next daily reset at " + nextDaily + ", next weekly reset at " + nextWeekly + ".");
+    }
+
+    /**
+     * Builds the schedule of one tier.
+     *
+     * @param useCron  Whether to read a cron expression.
+     * @param path     The config path of the expression.
+     * @param def      The default expression.
+     * @param fallback The schedule used without cron or when the expression is invalid.
+     * @return A function from a time to the next reset after it.
+     */
+    private UnaryOperator<ZonedDateTime> schedule(boolean useCron, String path, String def,
+                                                  UnaryOperator<ZonedDateTime> fallback) {
+        if (!useCron) return fallback;
+        String text = plugin.getConfig().getString(path, def);
+        try {
+            CronExpression cron = CronExpression.parse(text);
+            if (cron.next(ZonedDateTime.now()) == null) {
+                throw new IllegalArgumentException("it never fires");
+            }
+            return time -> {
+                ZonedDateTime next = cron.next(time);
+                return next != null ? next : fallback.apply(time);
+            };
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("[Reset] Invalid " + path + " '" + text + "': " + e.getMessage() + ". Resetting at midnight instead.");
+            return fallback;
+        }
+    }
+
+    /**
+     * Starts the timer. Runs on the main thread during startup.
+     */
+    public void start() {
+        schedule();
+    }
+
+    /**
+     * Sleeps until the earlier of the two resets is due, or for at most {@link #MAX_SLEEP_TICKS}.
+     */
+    private void schedule() {
+        ZonedDateTime next = nextDaily.isBefore(nextWeekly) ? nextDaily : nextWeekly;
+        long millis = next.toInstant().toEpochMilli() - System.currentTimeMillis();
+        long ticks = Math.max(1L, Math.min(MAX_SLEEP_TICKS, (millis + 49L) / 50L));
+        task = plugin.getServer().getScheduler().runTaskLater(plugin, this::fire, ticks);
+    }
+
+    /**
+     * Advances the epochs of the resets that are due, hands online players their new quests and goes back to
+     * sleep. Refreshing online players right away also registers the handlers their new objectives need,
+     * which they might otherwise never trigger. Ticks may run ahead of the wall clock, in which case nothing
+     * is due yet and the timer simply sleeps again.
+     */
+    private void fire() {
+        task = null;
+        ZonedDateTime now = ZonedDateTime.now();
+        boolean advanced = false;
+        if (!now.isBefore(nextDaily)) {
+            nextDaily = dailySchedule.apply(now);
+            dailyEpoch = nextDaily.toEpochSecond();
+            advanced = true;
+            plugin.log("[Reset] Daily quests reset for online players. Next reset at " + nextDaily + ".");
+        }
+        if (!now.isBefore(nextWeekly)) {
+            nextWeekly = weeklySchedule.apply(now);
+            weeklyEpoch = nextWeekly.toEpochSecond();
+            advanced = true;
+            plugin.log("[Reset] Weekly quests reset for online players. Next reset at " + nextWeekly + ".");
+        }
+        if (advanced) {
+            QuestManager questManager = plugin.getQuestManager();
+            for (Player player : plugin.getServer().getOnlinePlayers()) {
+                questManager.refresh(player.getUniqueId());
+            }
+        }
+        if (plugin.isEnabled()) schedule();
+    }
+
+    /**
+     * Stops the timer.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Gets the current reset epoch of a tier.
+     *
+     * @param tier {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @return The epoch.
+     * @throws IllegalArgumentException For tiers that do not reset.
+     */
+    public long currentEpoch(QuestTier tier) {
+        return switch (tier) {
+            case DAILY -> dailyEpoch;
+            case WEEKLY -> weeklyEpoch;
+            default -> throw new IllegalArgumentException("Only DAILY and WEEKLY quests reset: " + tier);
+        };
+    }
+
+    /**
+     * Gets the time of a tier's next reset.
+     *
+     * @param tier {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @return The time.
+     * @throws IllegalArgumentException For tiers that do not reset.
+     */
+    public ZonedDateTime getNextReset(QuestTier tier) {
+        return switch (tier) {
+            case DAILY -> nextDaily;
+            case WEEKLY -> nextWeekly;
+            default -> throw new IllegalArgumentException("Only DAILY and WEEKLY quests reset: " + tier);
+        };
+    }
+
+    private static ZonedDateTime nextMidnight(ZonedDateTime time) {
+        return time.toLocalDate().plusDays(1).atStartOfDay(time.getZone());
+    }
+
+    private static ZonedDateTime nextMonday(ZonedDateTime time) {
+        return time.toLocalDate().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay(time.getZone());
+    }
+}
@@ -5,7 +5,9 @@ import org.bukkit.entity.Player;
 
 import com.example.questplugin.QuestPlugin;
 import com.example.questplugin.model.Quest;
+import com.example.questplugin.model.QuestTier;
 import com.example.questplugin.util.QuestNotifier;
+import com.example.questplugin.util.QuestTracer;
 
 import dev.aurelium.auraskills.api.skill.Skills;
 import dev.aurelium.auraskills.api.user.SkillsUser;
@@ -41,19 +43,17 @@ public class RewardHandler {
 
         // If not redeeming the reward, notify about completion and exit
         if (!redeemReward){
-            if (quest.canClaim()){
-                questNotifier.notifyCompletion(player, quest);
-            }
+            questNotifier.notifyCompletion(player, quest);
             return false;
         }
 
         double multiplier = quest.getRarity().getMultiplier(); // Get the reward multiplier based on quest rarity
 
-        plugin.debug("[Reward] Claiming reward for quest: " + quest.getId()); // Debug log for claiming rewards
+        plugin.getTracer().trace(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG, () -> "[Reward] Claiming reward for quest: " + quest.getId()); // Debug log for claiming rewards
 
         // Give currency reward if economy is available
         if (plugin.getEconomy() != null) {
-            plugin.debug("[QuestPlugin] Gave " +quest.getCurrencyReward() + " to " + player.getName());
+            plugin.getTracer().trace(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG, () -> "[QuestPlugin] Gave " + quest.getCurrencyReward() + " to " + player.getName());
             plugin.getEconomy().depositPlayer(player, quest.getCurrencyReward() * multiplier);
         }
 
@@ -75,8 +75,10 @@ public class RewardHandler {
         }
 
         questNotifier.notifyCompletion(player, quest); // Notify about the completion of the quest
-        quest.claimReward(); // Mark the reward as claimed
-        plugin.getLeaderboardManager().recordCompletion(player.getUniqueId(), quest); // Record the quest completion in leaderboards
+        quest.claimReward(player); // Mark the reward as claimed; leaderboard and stats listen for the claim event
+        plugin.getQuestStorage().markDirty(player.getUniqueId()); // Save the claim with the next save
+        plugin.getQuestStorage().getJournal().recordClaim(quest.getTier() == QuestTier.GLOBAL
+                ? ProgressJournal.GLOBAL_OWNER : player.getUniqueId(), quest); // Survive a crash before that save
         return true;
     }
 }
@@ -0,0 +1,448 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.util.QuestTracer;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * {@link StorageBackend} backed by an embedded SQLite database file, {@code Storage.Sqlite.File}
+ * ({@code quests.db} by default). The SQLite driver ships with Paper.
+ * <p>
+ * Player quests and objectives are stored as one row each, keyed by player, tier and quest, so a partial
+ * snapshot only upserts the quests that changed, and a batch of players is written with batched prepared
+ * statements in a single transaction. Leaderboard scores are indexed for ranking queries, and completion
+ * counts are kept in their own table so reading a quest's stats never scans every completion. Each player's
+ * reset epochs are kept in one row of {@code player_epochs}.
+ * <p>
+ * A single connection is shared, and every method is synchronized on the backend. Apart from startup loads,
+ * everything runs on the storage thread, so the main thread never waits on the database.
+ * On the first start with an empty database, existing YAML data is imported.
+ */
+public class SqliteStorageBackend implements StorageBackend {
+
+    private static final String DAILY = "DAILY";
+    private static final String WEEKLY = "WEEKLY";
+    private static final String GLOBAL = "GLOBAL";
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS player_quests (uuid TEXT NOT NULL, tier TEXT NOT NULL, quest_id TEXT NOT NULL,"
+                    + " claimed INTEGER NOT NULL, PRIMARY KEY (uuid, tier, quest_id))",
+            "CREATE TABLE IF NOT EXISTS player_objectives (uuid TEXT NOT NULL, tier TEXT NOT NULL, quest_id TEXT NOT NULL,"
+                    + " target_key TEXT NOT NULL, progress INTEGER NOT NULL, PRIMARY KEY (uuid, tier, quest_id, target_key))",
+            "CREATE TABLE IF NOT EXISTS player_epochs (uuid TEXT PRIMARY KEY, daily_epoch INTEGER NOT NULL,"
+                    + " weekly_epoch INTEGER NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS meta (key TEXT PRIMARY KEY, value TEXT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS leaderboard (uuid TEXT PRIMARY KEY, score INTEGER NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS leaderboard_score ON leaderboard (score DESC)",
+            "CREATE TABLE IF NOT EXISTS quest_completions (quest_id TEXT NOT NULL, uuid TEXT NOT NULL, name TEXT NOT NULL,"
+                    + " PRIMARY KEY (quest_id, uuid))",
+            "CREATE TABLE IF NOT EXISTS quest_completion_counts (quest_id TEXT PRIMARY KEY, completions INTEGER NOT NULL)"
+    };
+
+    /**
+     * Upserts a quest row in place, keeping its rowid so quests load in the order they were assigned.
+     */
+    private static final String UPSERT_QUEST = "INSERT INTO player_quests (uuid, tier, quest_id, claimed) VALUES (?, ?, ?, ?)"
+            + " ON CONFLICT(uuid, tier, quest_id) DO UPDATE SET claimed = excluded.claimed";
+
+    private final QuestPlugin plugin;
+    private final Connection connection;
+
+    /**
+     * Constructs a new SqliteStorageBackend, opening (or creating) the database and its tables.
+     * If the database holds no players and YAML data exists, it is imported first.
+     *
+     * @param plugin The main plugin instance.
+     * @throws IOException If the database could not be opened.
+     */
+    public SqliteStorageBackend(QuestPlugin plugin) throws IOException {
+        this.plugin = plugin;
+        File file = new File(plugin.getDataFolder(), plugin.getConfig().getString("Storage.Sqlite.File", "quests.db"));
+        try {
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                for (String sql : SCHEMA) statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not open " + file.getName() + ": " + e.getMessage(), e);
+        }
+
+        if (loadPlayerIndex().isEmpty() && hasYamlData()) {
+            importFrom(new YamlStorageBackend(plugin));
+        }
+    }
+
+    @Override
+    public synchronized Set<UUID> loadPlayerIndex() throws IOException {
+        Set<UUID> players = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT DISTINCT uuid FROM player_quests WHERE tier <> 'GLOBAL'")) {
+            while (rs.next()) {
+                players.add(UUID.fromString(rs.getString(1)));
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return players;
+    }
+
+    @Override
+    public synchronized PlayerQuestSnapshot loadPlayer(UUID uuid) throws IOException {
+        try {
+            Map<String, List<PlayerQuestSnapshot.QuestRecord>> tiers = loadRecords(uuid.toString());
+            if (tiers.isEmpty()) return null;
+            long dailyEpoch = PlayerQuestSnapshot.UNSTAMPED;
+            long weeklyEpoch = PlayerQuestSnapshot.UNSTAMPED;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT daily_epoch, weekly_epoch FROM player_epochs WHERE uuid = ?")) {
+                statement.setString(1, uuid.toString());
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next()) {
+                        dailyEpoch = rs.getLong(1);
+                        weeklyEpoch = rs.getLong(2);
+                    }
+                }
+            }
+            return new PlayerQuestSnapshot(uuid, true,
+                    tiers.getOrDefault(DAILY, new ArrayList<>()), tiers.getOrDefault(WEEKLY, new ArrayList<>()),
+                    dailyEpoch, weeklyEpoch);
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void savePlayers(List<PlayerQuestSnapshot> batch) throws IOException {
+        inTransaction(() -> {
+            try (PreparedStatement deleteQuests = connection.prepareStatement("DELETE FROM player_quests WHERE uuid = ?");
+                 PreparedStatement deleteObjectives = connection.prepareStatement("DELETE FROM player_objectives WHERE uuid = ?");
+                 PreparedStatement quest = connection.prepareStatement(UPSERT_QUEST);
+                 PreparedStatement objective = connection.prepareStatement(
+                         "INSERT OR REPLACE INTO player_objectives (uuid, tier, quest_id, target_key, progress) VALUES (?, ?, ?, ?, ?)");
+                 PreparedStatement epochs = connection.prepareStatement(
+                         "INSERT OR REPLACE INTO player_epochs (uuid, daily_epoch, weekly_epoch) VALUES (?, ?, ?)")) {
+                for (PlayerQuestSnapshot snapshot : batch) {
+                    String uuid = snapshot.uuid().toString();
+                    if (snapshot.full()) {
+                        // Quests dropped by a reset must not linger
+                        deleteQuests.setString(1, uuid);
+                        deleteQuests.addBatch();
+                        deleteObjectives.setString(1, uuid);
+                        deleteObjectives.addBatch();
+                    }
+                    addRecords(quest, objective, uuid, DAILY, snapshot.daily());
+                    addRecords(quest, objective, uuid, WEEKLY, snapshot.weekly());
+                    epochs.setString(1, uuid);
+                    epochs.setLong(2, snapshot.dailyEpoch());
+                    epochs.setLong(3, snapshot.weeklyEpoch());
+                    epochs.addBatch();
+                }
+                deleteQuests.executeBatch();
+                deleteObjectives.executeBatch();
+                quest.executeBatch();
+                objective.executeBatch();
+                epochs.executeBatch();
+            }
+        });
+        plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Storage] Upserted " + batch.size() + " players into SQLite");
+    }
+
+    @Override
+    public synchronized List<PlayerQuestSnapshot.QuestRecord> loadGlobalQuests() throws IOException {
+        try {
+            return loadRecords(new UUID(0L, 0L).toString()).getOrDefault(GLOBAL, new ArrayList<>());
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void saveGlobalQuests(List<PlayerQuestSnapshot.QuestRecord> records) throws IOException {
+        String owner = new UUID(0L, 0L).toString();
+        inTransaction(() -> {
+            try (PreparedStatement deleteQuests = connection.prepareStatement("DELETE FROM player_quests WHERE uuid = ? AND tier = ?");
+                 PreparedStatement deleteObjectives = connection.prepareStatement("DELETE FROM player_objectives WHERE uuid = ? AND tier = ?");
+                 PreparedStatement quest = connection.prepareStatement(UPSERT_QUEST);
+                 PreparedStatement objective = connection.prepareStatement(
+                         "INSERT OR REPLACE INTO player_objectives (uuid, tier, quest_id, target_key, progress) VALUES (?, ?, ?, ?, ?)")) {
+                for (PreparedStatement delete : new PreparedStatement[]{deleteQuests, deleteObjectives}) {
+                    delete.setString(1, owner);
+                    delete.setString(2, GLOBAL);
+                    delete.executeUpdate();
+                }
+                addRecords(quest, objective, owner, GLOBAL, records);
+                quest.executeBatch();
+                objective.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public synchronized Map<UUID, Integer> loadScores() throws IOException {
+        Map<UUID, Integer> scores = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT uuid, score FROM leaderboard")) {
+            while (rs.next()) {
+                scores.put(UUID.fromString(rs.getString(1)), rs.getInt(2));
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return scores;
+    }
+
+    @Override
+    public synchronized void saveScores(Map<UUID, Integer> scores) throws IOException {
+        inTransaction(() -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT OR REPLACE INTO leaderboard (uuid, score) VALUES (?, ?)")) {
+                for (Map.Entry<UUID, Integer> entry : scores.entrySet()) {
+                    statement.setString(1, entry.getKey().toString());
+                    statement.setInt(2, entry.getValue());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public synchronized void recordCompletion(String questId, UUID player, String playerName) throws IOException {
+        inTransaction(() -> {
+            try (PreparedStatement count = connection.prepareStatement(
+                    "INSERT INTO quest_completion_counts (quest_id, completions) VALUES (?, 1)"
+                            + " ON CONFLICT(quest_id) DO UPDATE SET completions = completions + 1");
+                 PreparedStatement name = connection.prepareStatement(
+                         "INSERT OR REPLACE INTO quest_completions (quest_id, uuid, name) VALUES (?, ?, ?)")) {
+                count.setString(1, questId);
+                count.executeUpdate();
+                name.setString(1, questId);
+                name.setString(2, player.toString());
+                name.setString(3, playerName);
+                name.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public synchronized CompletionStats getCompletionStats(String questId) throws IOException {
+        try (PreparedStatement count = connection.prepareStatement(
+                "SELECT completions FROM quest_completion_counts WHERE quest_id = ?");
+             PreparedStatement names = connection.prepareStatement(
+                     "SELECT uuid, name FROM quest_completions WHERE quest_id = ?")) {
+            count.setString(1, questId);
+            int completions = 0;
+            try (ResultSet rs = count.executeQuery()) {
+                if (rs.next()) completions = rs.getInt(1);
+            }
+            Map<UUID, String> players = new HashMap<>();
+            names.setString(1, questId);
+            try (ResultSet rs = names.executeQuery()) {
+                while (rs.next()) players.put(UUID.fromString(rs.getString(1)), rs.getString(2));
+            }
+            return new CompletionStats(completions, players);
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public synchronized Set<String> getCompletedQuestIds() throws IOException {
+        Set<String> ids = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT quest_id FROM quest_completion_counts")) {
+            while (rs.next()) ids.add(rs.getString(1));
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return ids;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("[Storage] Failed to close the SQLite database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies everything stored in another backend into this database, in one transaction per kind of data.
+     *
+     * @param source The backend to import from.
+     * @throws IOException If reading the source or writing the database failed.
+     */
+    public void importFrom(StorageBackend source) throws IOException {
+        Set<UUID> players = source.loadPlayerIndex();
+        List<PlayerQuestSnapshot> batch = new ArrayList<>(players.size());
+        for (UUID uuid : players) {
+            PlayerQuestSnapshot snapshot = source.loadPlayer(uuid);
+            if (snapshot != null) batch.add(snapshot);
+        }
+        savePlayers(batch);
+        saveGlobalQuests(source.loadGlobalQuests());
+        saveScores(source.loadScores());
+
+        Set<String> questIds = source.getCompletedQuestIds();
+        synchronized (this) {
+            inTransaction(() -> {
+                try (PreparedStatement count = connection.prepareStatement(
+                        "INSERT OR REPLACE INTO quest_completion_counts (quest_id, completions) VALUES (?, ?)");
+                     PreparedStatement name = connection.prepareStatement(
+                             "INSERT OR REPLACE INTO quest_completions (quest_id, uuid, name) VALUES (?, ?, ?)")) {
+                    for (String questId : questIds) {
+                        CompletionStats stats;
+                        try {
+                            stats = source.getCompletionStats(questId);
+                        } catch (IOException e) {
+                            throw new SQLException(e);
+                        }
+                        count.setString(1, questId);
+                        count.setInt(2, stats.completions());
+                        count.addBatch();
+                        for (Map.Entry<UUID, String> entry : stats.players().entrySet()) {
+                            name.setString(1, questId);
+                            name.setString(2, entry.getKey().toString());
+                            name.setString(3, entry.getValue());
+                            name.addBatch();
+                        }
+                    }
+                    count.executeBatch();
+                    name.executeBatch();
+                }
+            });
+        }
+        source.close();
+        plugin.log("[Storage] Imported " + batch.size() + " players, leaderboard and completion stats into SQLite.");
+    }
+
+    /**
+     * Checks whether the YAML backend has player data to import.
+     *
+     * @return true if per-player files or a legacy player_quests.yml exist.
+     */
+    private boolean hasYamlData() {
+        return new File(plugin.getDataFolder(), "players/index.txt").exists()
+                || new File(plugin.getDataFolder(), "player_quests.yml").exists();
+    }
+
+    /**
+     * Reads every quest row of an owner, grouped by tier.
+     *
+     * @param owner The player UUID, or the nil UUID for global quests.
+     * @return The records by tier, empty if none are stored.
+     * @throws SQLException If the query failed.
+     */
+    private Map<String, List<PlayerQuestSnapshot.QuestRecord>> loadRecords(String owner) throws SQLException {
+        Map<String, Map<String, Boolean>> claimed = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT tier, quest_id, claimed FROM player_quests WHERE uuid = ? ORDER BY rowid")) {
+            statement.setString(1, owner);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    claimed.computeIfAbsent(rs.getString(1), tier -> new LinkedHashMap<>()).put(rs.getString(2), rs.getInt(3) != 0);
+                }
+            }
+        }
+        if (claimed.isEmpty()) return new HashMap<>();
+
+        Map<String, Map<String, Map<String, Integer>>> objectives = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT tier, quest_id, target_key, progress FROM player_objectives WHERE uuid = ?")) {
+            statement.setString(1, owner);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    objectives.computeIfAbsent(rs.getString(1), tier -> new HashMap<>())
+                            .computeIfAbsent(rs.getString(2), id -> new LinkedHashMap<>())
+                            .put(rs.getString(3), rs.getInt(4));
+                }
+            }
+        }
+
+        Map<String, List<PlayerQuestSnapshot.QuestRecord>> tiers = new HashMap<>();
+        for (Map.Entry<String, Map<String, Boolean>> tier : claimed.entrySet()) {
+            List<PlayerQuestSnapshot.QuestRecord> records = new ArrayList<>(tier.getValue().size());
+            for (Map.Entry<String, Boolean> quest : tier.getValue().entrySet()) {
+                Map<String, Integer> progress = objectives.getOrDefault(tier.getKey(), Collections.emptyMap())
+                        .getOrDefault(quest.getKey(), Collections.emptyMap());
+                String[] keys = new String[progress.size()];
+                int[] values = new int[progress.size()];
+                int i = 0;
+                for (Map.Entry<String, Integer> entry : progress.entrySet()) {
+                    keys[i] = entry.getKey();
+                    values[i++] = entry.getValue();
+                }
+                records.add(new PlayerQuestSnapshot.QuestRecord(quest.getKey(), quest.getValue(), keys, values));
+            }
+            tiers.put(tier.getKey(), records);
+        }
+        return tiers;
+    }
+
+    /**
+     * Adds the quest and objective rows of some records to the given upsert batches.
+     *
+     * @param quest     The quest upsert.
+     * @param objective The objective upsert.
+     * @param owner     The player UUID, or the nil UUID for global quests.
+     * @param tier      The tier of the records.
+     * @param records   The records.
+     * @throws SQLException If a parameter could not be set.
+     */
+    private static void addRecords(PreparedStatement quest, PreparedStatement objective, String owner, String tier,
+                                   List<PlayerQuestSnapshot.QuestRecord> records) throws SQLException {
+        for (PlayerQuestSnapshot.QuestRecord record : records) {
+            quest.setString(1, owner);
+            quest.setString(2, tier);
+            quest.setString(3, record.id());
+            quest.setInt(4, record.claimed() ? 1 : 0);
+            quest.addBatch();
+            for (int i = 0; i < record.targetKeys().length; i++) {
+                objective.setString(1, owner);
+                objective.setString(2, tier);
+                objective.setString(3, record.id());
+                objective.setString(4, record.targetKeys()[i]);
+                objective.setInt(5, record.progress()[i]);
+                objective.addBatch();
+            }
+        }
+    }
+
+    /**
+     * Runs statements in one transaction, rolling back if any of them fails.
+     *
+     * @param work The statements.
+     * @throws IOException If the transaction failed and was rolled back.
+     */
+    private void inTransaction(SqlWork work) throws IOException {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                work.run();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * A unit of work run inside {@link #inTransaction(SqlWork)}.
+     */
+    @FunctionalInterface
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+}
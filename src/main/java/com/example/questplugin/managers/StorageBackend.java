@@ -0,0 +1,118 @@
+package com.example.questplugin.managers;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Persistence for everything the plugin stores: player quests with their reset epochs, global quest
+ * progress, leaderboard scores and quest completion stats.
+ * <p>
+ * Load methods run on the main thread during startup. Writes run on the storage thread through
+ * {@link QuestWriteBehind}, one at a time and in submission order. Completion stat queries may run on any
+ * thread, so implementations must tolerate them running concurrently with a write.
+ * Selected with {@code Storage.Backend}: {@code YAML} ({@link YamlStorageBackend}) or {@code SQLITE}
+ * ({@link SqliteStorageBackend}).
+ */
+public interface StorageBackend {
+
+    /**
+     * Gets the UUIDs of every player with stored quest data.
+     *
+     * @return The stored players.
+     * @throws IOException If the storage could not be read.
+     */
+    Set<UUID> loadPlayerIndex() throws IOException;
+
+    /**
+     * Loads one player's quests.
+     *
+     * @param uuid The player's UUID.
+     * @return A full snapshot, or null if nothing is stored for the player.
+     * @throws IOException If the storage could not be read.
+     */
+    PlayerQuestSnapshot loadPlayer(UUID uuid) throws IOException;
+
+    /**
+     * Writes a batch of player snapshots. A full snapshot replaces everything stored for the player, a
+     * partial one only overwrites the quests it holds.
+     *
+     * @param batch The snapshots.
+     * @throws IOException If any snapshot could not be written; the whole batch is retried later.
+     */
+    void savePlayers(List<PlayerQuestSnapshot> batch) throws IOException;
+
+    /**
+     * Loads the saved global quests with their objective progress.
+     *
+     * @return The global quest records, empty if none are stored.
+     * @throws IOException If the storage could not be read.
+     */
+    List<PlayerQuestSnapshot.QuestRecord> loadGlobalQuests() throws IOException;
+
+    /**
+     * Replaces the saved global quests.
+     *
+     * @param records The active global quests.
+     * @throws IOException If the storage could not be written.
+     */
+    void saveGlobalQuests(List<PlayerQuestSnapshot.QuestRecord> records) throws IOException;
+
+    /**
+     * Loads every leaderboard score.
+     *
+     * @return Scores by player.
+     * @throws IOException If the storage could not be read.
+     */
+    Map<UUID, Integer> loadScores() throws IOException;
+
+    /**
+     * Writes changed leaderboard scores.
+     *
+     * @param scores The new scores of the players whose score changed.
+     * @throws IOException If the storage could not be written.
+     */
+    void saveScores(Map<UUID, Integer> scores) throws IOException;
+
+    /**
+     * Records one claimed completion of a quest.
+     *
+     * @param questId    The quest ID.
+     * @param player     The player's UUID.
+     * @param playerName The player's name at the time of completion.
+     * @throws IOException If the storage could not be written.
+     */
+    void recordCompletion(String questId, UUID player, String playerName) throws IOException;
+
+    /**
+     * Gets the completion stats of a quest.
+     *
+     * @param questId The quest ID.
+     * @return The stats, with zero completions and no players if none were recorded.
+     * @throws IOException If the storage could not be read.
+     */
+    CompletionStats getCompletionStats(String questId) throws IOException;
+
+    /**
+     * Gets the IDs of all quests with at least one recorded completion.
+     *
+     * @return The quest IDs.
+     * @throws IOException If the storage could not be read.
+     */
+    Set<String> getCompletedQuestIds() throws IOException;
+
+    /**
+     * Releases files or connections. Called on shutdown, after every queued write has finished.
+     */
+    void close();
+
+    /**
+     * How often a quest was completed, and by whom.
+     *
+     * @param completions The total number of completions.
+     * @param players     The names of the players who completed it, by UUID, as of their last completion.
+     */
+    record CompletionStats(int completions, Map<UUID, String> players) {}
+}
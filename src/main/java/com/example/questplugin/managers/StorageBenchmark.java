@@ -0,0 +1,159 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.model.QuestTemplate;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compares encode and decode throughput of the YAML player file layout and the binary
+ * {@link PlayerQuestCodec} format on synthetic players built from the loaded templates.
+ * Run with {@code /questdev storage bench [players]}; it runs off the main thread and touches no files.
+ */
+public final class StorageBenchmark {
+
+    private static final int DAILY = 5;
+    private static final int WEEKLY = 10;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+
+    /**
+     * Receives decoded results so the decode loops cannot be optimized away.
+     */
+    private static volatile int sink;
+
+    private StorageBenchmark() {}
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param templates The templates to draw quests from.
+     * @param players   The number of synthetic players per round.
+     * @return Report lines.
+     */
+    public static List<String> run(List<QuestTemplate> templates, int players) {
+        if (templates.isEmpty()) return List.of("No quest templates loaded.");
+        List<PlayerQuestSnapshot> snapshots = generate(templates, players, new Random(42L));
+
+        long[] yaml = new long[2];
+        long[] binary = new long[2];
+        long yamlBytes = 0;
+        long binaryBytes = 0;
+        try {
+            for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+                boolean measured = round >= WARMUP_ROUNDS;
+                long[] yamlRound = yamlRound(snapshots);
+                long[] binaryRound = binaryRound(snapshots);
+                if (!measured) continue;
+                yaml[0] += yamlRound[0];
+                yaml[1] += yamlRound[1];
+                yamlBytes = yamlRound[2];
+                binary[0] += binaryRound[0];
+                binary[1] += binaryRound[1];
+                binaryBytes = binaryRound[2];
+            }
+        } catch (IOException | InvalidConfigurationException e) {
+            return List.of("Benchmark failed: " + e.getMessage());
+        }
+
+        long total = (long) players * ROUNDS;
+        List<String> lines = new ArrayList<>();
+        lines.add("Players: " + players + " x " + ROUNDS + " rounds, " + (DAILY + WEEKLY) + " quests each");
+        lines.add(String.format(Locale.ROOT, "YAML   encode %,d/s  decode %,d/s  %,d bytes/player",
+                perSecond(total, yaml[0]), perSecond(total, yaml[1]), yamlBytes / players));
+        lines.add(String.format(Locale.ROOT, "Binary encode %,d/s  decode %,d/s  %,d bytes/player",
+                perSecond(total, binary[0]), perSecond(total, binary[1]), binaryBytes / players));
+        lines.add(String.format(Locale.ROOT, "Speedup encode %.1fx  decode %.1fx  size %.1fx smaller",
+                (double) yaml[0] / Math.max(1L, binary[0]), (double) yaml[1] / Math.max(1L, binary[1]),
+                (double) yamlBytes / Math.max(1L, binaryBytes)));
+        return lines;
+    }
+
+    /**
+     * Encodes and decodes every snapshot as YAML.
+     *
+     * @return Encode nanos, decode nanos and total encoded bytes.
+     */
+    private static long[] yamlRound(List<PlayerQuestSnapshot> snapshots) throws InvalidConfigurationException {
+        String[] encoded = new String[snapshots.size()];
+        long start = System.nanoTime();
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = PlayerQuestCodec.toYaml(snapshots.get(i)).saveToString();
+        }
+        long encodeTime = System.nanoTime() - start;
+
+        long bytes = 0;
+        int check = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < encoded.length; i++) {
+            YamlConfiguration yaml = new YamlConfiguration();
+            yaml.loadFromString(encoded[i]);
+            check += PlayerQuestCodec.fromYaml(snapshots.get(i).uuid(), yaml).daily().size();
+        }
+        long decodeTime = System.nanoTime() - start;
+        for (String string : encoded) bytes += string.length();
+        sink = check;
+        return new long[]{encodeTime, decodeTime, bytes};
+    }
+
+    /**
+     * Encodes and decodes every snapshot in the binary format.
+     *
+     * @return Encode nanos, decode nanos and total encoded bytes.
+     */
+    private static long[] binaryRound(List<PlayerQuestSnapshot> snapshots) throws IOException {
+        byte[][] encoded = new byte[snapshots.size()][];
+        long start = System.nanoTime();
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = PlayerQuestCodec.encode(snapshots.get(i));
+        }
+        long encodeTime = System.nanoTime() - start;
+
+        long bytes = 0;
+        int check = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < encoded.length; i++) {
+            check += PlayerQuestCodec.decode(snapshots.get(i).uuid(), encoded[i]).daily().size();
+        }
+        long decodeTime = System.nanoTime() - start;
+        for (byte[] data : encoded) bytes += data.length;
+        sink = check;
+        return new long[]{encodeTime, decodeTime, bytes};
+    }
+
+    /**
+     * Builds players with random quests and progress from the templates.
+     */
+    private static List<PlayerQuestSnapshot> generate(List<QuestTemplate> templates, int players, Random random) {
+        List<PlayerQuestSnapshot> snapshots = new ArrayList<>(players);
+        for (int p = 0; p < players; p++) {
+            snapshots.add(new PlayerQuestSnapshot(new UUID(random.nextLong(), random.nextLong()), true,
+                    records(templates, DAILY, random), records(templates, WEEKLY, random), 20000L, 2857L));
+        }
+        return snapshots;
+    }
+
+    private static List<PlayerQuestSnapshot.QuestRecord> records(List<QuestTemplate> templates, int count, Random random) {
+        List<PlayerQuestSnapshot.QuestRecord> records = new ArrayList<>(count);
+        Set<String> used = new HashSet<>();
+        for (int i = 0; i < count * 4 && records.size() < count; i++) {
+            QuestTemplate template = templates.get(random.nextInt(templates.size()));
+            if (!used.add(template.getId())) continue;
+            List<QuestTemplate.Objective> objectives = template.getObjectives();
+            String[] keys = new String[objectives.size()];
+            int[] progress = new int[objectives.size()];
+            for (int j = 0; j < keys.length; j++) {
+                keys[j] = objectives.get(j).getTargetKey();
+                progress[j] = random.nextInt(Math.max(1, objectives.get(j).getTargetAmount()) + 1);
+            }
+            records.add(new PlayerQuestSnapshot.QuestRecord(template.getId(), random.nextInt(4) == 0, keys, progress));
+        }
+        return records;
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return nanos <= 0 ? 0 : count * 1_000_000_000L / nanos;
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.model.QuestRarity;
+import com.example.questplugin.model.QuestTemplate;
+import com.example.questplugin.model.QuestTier;
+import com.example.questplugin.model.QuestType;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * An immutable set of loaded quest templates, indexed by ID, tier, objective type and rarity so that
+ * resolving a stored quest or filling an assignment pool never scans the whole template list. Each tier
+ * also has a {@link TierPool}, an array of its templates with prebuilt Fenwick trees over their rarity
+ * weights, which {@link QuestSampler} draws from without copying the pool.
+ * <p>
+ * {@link QuestLoader} builds a new registry on every (re)load and swaps it in as a whole, so readers on any
+ * thread always see one consistent set of templates. Its {@link #version()} is a hash of everything that
+ * affects sampling, so registries loaded from the same files on different servers share a version.
+ */
+public final class TemplateRegistry {
+
+    /**
+     * A registry without templates, used until the first load finishes.
+     */
+    public static final TemplateRegistry EMPTY = new TemplateRegistry(List.of(), rarity -> 1, message -> {});
+
+    private final List<QuestTemplate> all;
+    private final Map<String, QuestTemplate> byId;
+    private final Map<String, QuestTemplate> byLowerId;
+    private final Map<QuestTier, List<QuestTemplate>> byTier = new EnumMap<>(QuestTier.class);
+    private final Map<QuestType, List<QuestTemplate>> byType = new EnumMap<>(QuestType.class);
+    private final Map<QuestRarity, List<QuestTemplate>> byRarity = new EnumMap<>(QuestRarity.class);
+    private final Map<QuestTier, TierPool> pools = new EnumMap<>(QuestTier.class);
+    private final long version;
+
+    /**
+     * Builds a registry from loaded templates. A template whose ID is already taken is skipped.
+     *
+     * @param templates The templates, in file order.
+     * @param weights   The sampling weight of each rarity; rarer quests are usually given less weight.
+     * @param warn      Receives a message for every skipped duplicate.
+     */
+    public TemplateRegistry(List<QuestTemplate> templates, ToIntFunction<QuestRarity> weights, Consumer<String> warn) {
+        Map<String, QuestTemplate> ids = new HashMap<>();
+        Map<String, QuestTemplate> lowerIds = new HashMap<>();
+        List<QuestTemplate> unique = new ArrayList<>(templates.size());
+        Map<QuestTier, List<QuestTemplate>> tiers = new EnumMap<>(QuestTier.class);
+        Map<QuestType, List<QuestTemplate>> types = new EnumMap<>(QuestType.class);
+        Map<QuestRarity, List<QuestTemplate>> rarities = new EnumMap<>(QuestRarity.class);
+
+        for (QuestTemplate template : templates) {
+            if (ids.putIfAbsent(template.getId(), template) != null) {
+                warn.accept("Skipping duplicate quest template ID '" + template.getId() + "'");
+                continue;
+            }
+            lowerIds.putIfAbsent(template.getId().toLowerCase(Locale.ROOT), template);
+            unique.add(template);
+            tiers.computeIfAbsent(template.getTier(), t -> new ArrayList<>()).add(template);
+            rarities.computeIfAbsent(template.getRarity(), r -> new ArrayList<>()).add(template);
+            Set<QuestType> seen = EnumSet.noneOf(QuestType.class);
+            for (QuestTemplate.Objective objective : template.getObjectives()) {
+                if (seen.add(objective.getType())) {
+                    types.computeIfAbsent(objective.getType(), t -> new ArrayList<>()).add(template);
+                }
+            }
+        }
+
+        this.all = List.copyOf(unique);
+        this.byId = Map.copyOf(ids);
+        this.byLowerId = Map.copyOf(lowerIds);
+        tiers.forEach((tier, list) -> {
+            TierPool pool = new TierPool(list, weights);
+            pools.put(tier, pool);
+            byTier.put(tier, pool.asList());
+        });
+        types.forEach((type, list) -> byType.put(type, List.copyOf(list)));
+        rarities.forEach((rarity, list) -> byRarity.put(rarity, List.copyOf(list)));
+        this.version = hash(pools);
+    }
+
+    /**
+     * Hashes the pools with 64-bit FNV-1a: every template's tier, ID and weight, in pool order.
+     *
+     * @param pools The pools by tier.
+     * @return The hash.
+     */
+    private static long hash(Map<QuestTier, TierPool> pools) {
+        long hash = 0xCBF29CE484222325L;
+        for (Map.Entry<QuestTier, TierPool> entry : pools.entrySet()) {
+            hash = (hash ^ entry.getKey().ordinal()) * 0x100000001B3L;
+            TierPool pool = entry.getValue();
+            for (int i = 0; i < pool.size(); i++) {
+                String id = pool.get(i).getId();
+                for (int c = 0; c < id.length(); c++) {
+                    hash = (hash ^ id.charAt(c)) * 0x100000001B3L;
+                }
+                hash = (hash ^ pool.weight(i)) * 0x100000001B3L;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the version of the registry, a hash of each tier's templates and weights. Seeded assignments
+     * depend on it, so they change when templates are added, removed, reordered or reweighted.
+     *
+     * @return The version.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Gets every template, in file order.
+     *
+     * @return An unmodifiable list of templates.
+     */
+    public List<QuestTemplate> getAll() {
+        return all;
+    }
+
+    /**
+     * Gets a template by its exact ID.
+     *
+     * @param id The quest ID.
+     * @return The template, or null if there is none.
+     */
+    public QuestTemplate get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Gets a template by ID, ignoring case, for IDs typed by players.
+     *
+     * @param id The quest ID in any case.
+     * @return The template, or null if there is none.
+     */
+    public QuestTemplate getIgnoreCase(String id) {
+        QuestTemplate template = byId.get(id);
+        return template != null ? template : byLowerId.get(id.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the templates of a tier.
+     *
+     * @param tier The tier.
+     * @return An unmodifiable list of templates, in file order.
+     */
+    public List<QuestTemplate> byTier(QuestTier tier) {
+        return byTier.getOrDefault(tier, List.of());
+    }
+
+    /**
+     * Gets the sampling pool of a tier.
+     *
+     * @param tier The tier.
+     * @return The pool, empty if the tier has no templates.
+     */
+    public TierPool pool(QuestTier tier) {
+        return pools.getOrDefault(tier, TierPool.EMPTY);
+    }
+
+    /**
+     * Gets the templates with at least one objective of a type.
+     *
+     * @param type The objective type.
+     * @return An unmodifiable list of templates, in file order.
+     */
+    public List<QuestTemplate> byType(QuestType type) {
+        return byType.getOrDefault(type, List.of());
+    }
+
+    /**
+     * Gets the templates of a rarity.
+     *
+     * @param rarity The rarity.
+     * @return An unmodifiable list of templates, in file order.
+     */
+    public List<QuestTemplate> byRarity(QuestRarity rarity) {
+        return byRarity.getOrDefault(rarity, List.of());
+    }
+
+    /**
+     * Gets the number of templates.
+     *
+     * @return The template count.
+     */
+    public int size() {
+        return all.size();
+    }
+
+    /**
+     * The templates of one tier in file order, with their rarity weights in two Fenwick trees: one summing
+     * the weights and one counting templates, for weighted and uniform draws. The trees are only read;
+     * {@link QuestSampler} copies them once per thread and removes drawn templates from its copy.
+     */
+    public static final class TierPool {
+
+        /**
+         * A pool without templates.
+         */
+        static final TierPool EMPTY = new TierPool(List.of(), rarity -> 1);
+
+        private final QuestTemplate[] templates;
+        private final int[] weights;
+        private final Map<String, Integer> indexById;
+        private final int[] weightTree;
+        private final int[] countTree;
+        private final int totalWeight;
+
+        private TierPool(List<QuestTemplate> list, ToIntFunction<QuestRarity> rarityWeights) {
+            this.templates = list.toArray(new QuestTemplate[0]);
+            this.weights = new int[templates.length];
+            Map<String, Integer> ids = new HashMap<>();
+            int sum = 0;
+            for (int i = 0; i < templates.length; i++) {
+                weights[i] = Math.max(0, rarityWeights.applyAsInt(templates[i].getRarity()));
+                sum += weights[i];
+                ids.put(templates[i].getId(), i);
+            }
+            this.indexById = Map.copyOf(ids);
+            this.totalWeight = sum;
+            this.weightTree = buildTree(weights);
+            int[] ones = new int[templates.length];
+            Arrays.fill(ones, 1);
+            this.countTree = buildTree(ones);
+        }
+
+        /**
+         * Builds a 1-based Fenwick tree over values in linear time.
+         *
+         * @param values The values.
+         * @return The tree, one longer than the values.
+         */
+        private static int[] buildTree(int[] values) {
+            int[] tree = new int[values.length + 1];
+            for (int i = 1; i < tree.length; i++) {
+                tree[i] += values[i - 1];
+                int parent = i + (i & -i);
+                if (parent < tree.length) tree[parent] += tree[i];
+            }
+            return tree;
+        }
+
+        /**
+         * Gets the number of templates in the pool.
+         *
+         * @return The template count.
+         */
+        public int size() {
+            return templates.length;
+        }
+
+        /**
+         * Gets a template by index.
+         *
+         * @param index The index, below {@link #size()}.
+         * @return The template.
+         */
+        public QuestTemplate get(int index) {
+            return templates[index];
+        }
+
+        /**
+         * Gets the index of a template by ID.
+         *
+         * @param id The quest ID.
+         * @return The index, or -1 if the pool has no such template.
+         */
+        public int indexOf(String id) {
+            Integer index = indexById.get(id);
+            return index != null ? index : -1;
+        }
+
+        /**
+         * Gets the sampling weight of a template.
+         *
+         * @param index The index, below {@link #size()}.
+         * @return The template's weight, 0 if its rarity is never drawn by weight.
+         */
+        public int weight(int index) {
+            return weights[index];
+        }
+
+        /**
+         * Gets the sum of all template weights.
+         *
+         * @return The total weight, 0 for an empty pool.
+         */
+        public int totalWeight() {
+            return totalWeight;
+        }
+
+        /**
+         * Gets the Fenwick tree over the template weights. Must not be modified.
+         *
+         * @return The tree.
+         */
+        int[] weightTree() {
+            return weightTree;
+        }
+
+        /**
+         * Gets the Fenwick tree counting the templates. Must not be modified.
+         *
+         * @return The tree.
+         */
+        int[] countTree() {
+            return countTree;
+        }
+
+        /**
+         * Gets the templates as an unmodifiable list backed by the pool.
+         *
+         * @return The templates.
+         */
+        public List<QuestTemplate> asList() {
+            return Collections.unmodifiableList(Arrays.asList(templates));
+        }
+    }
+}
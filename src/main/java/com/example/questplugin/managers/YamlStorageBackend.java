@@ -0,0 +1,400 @@
+package com.example.questplugin.managers;
+
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.util.QuestTracer;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * File based {@link StorageBackend}, the default.
+ * <p>
+ * Each player's quests are stored in their own file, {@code players/<first two UUID characters>/<uuid>.dat},
+ * so one player can be loaded or written without touching anyone else's data. {@code players/index.txt}
+ * lists every stored UUID, one per line, so stored players can be enumerated without opening their files.
+ * Player files use the binary {@link PlayerQuestCodec} format, or YAML ({@code <uuid>.yml}) when
+ * {@code Storage.Format} is {@code YAML}; both are always readable, and each write replaces the other format.
+ * <p>
+ * Global quests, leaderboard scores and completion stats stay in global_quests.yml, leaderboard.yml and
+ * quest_completions.yml. Every file is replaced atomically through a
+ * temporary file.
+ */
+public class YamlStorageBackend implements StorageBackend {
+
+    private final QuestPlugin plugin;
+
+    /**
+     * The directory holding the per-player shard directories.
+     */
+    private final File playersDir;
+
+    /**
+     * The index of stored player UUIDs.
+     */
+    private final File indexFile;
+
+    /**
+     * UUIDs with a file in {@link #playersDir}. Added to by the storage thread.
+     */
+    private final Set<UUID> index = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether player files are written in the binary format rather than YAML.
+     */
+    private volatile boolean binary;
+
+    private final File globalFile;
+    private final File leaderboardFile;
+    private final YamlConfiguration leaderboard;
+
+    /**
+     * Completion stats. Guarded by itself, since stats may be queried from the main thread.
+     */
+    private final File completionFile;
+    private final YamlConfiguration completions;
+
+    /**
+     * Constructs a new YamlStorageBackend, reading the player index and the leaderboard and completion
+     * files. A legacy single-file player_quests.yml is split into per-player files on first start.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public YamlStorageBackend(QuestPlugin plugin) {
+        this.plugin = plugin;
+        this.playersDir = new File(plugin.getDataFolder(), "players");
+        this.indexFile = new File(playersDir, "index.txt");
+        this.binary = !"YAML".equalsIgnoreCase(plugin.getConfig().getString("Storage.Format", "BINARY"));
+        this.globalFile = new File(plugin.getDataFolder(), "global_quests.yml");
+        this.leaderboardFile = new File(plugin.getDataFolder(), "leaderboard.yml");
+        this.completionFile = new File(plugin.getDataFolder(), "quest_completions.yml");
+
+        if (!playersDir.exists() && playersDir.mkdirs()) {
+            plugin.getTracer().trace(QuestTracer.Category.STORAGE, QuestTracer.Level.DEBUG, () -> "[Storage] Created players directory");
+        }
+        if (!leaderboardFile.exists()) {
+            plugin.saveResource("leaderboard.yml", false);
+        }
+        this.leaderboard = YamlConfiguration.loadConfiguration(leaderboardFile);
+        this.completions = YamlConfiguration.loadConfiguration(completionFile);
+
+        loadIndex();
+        migrateLegacyFile();
+    }
+
+    @Override
+    public Set<UUID> loadPlayerIndex() {
+        return new HashSet<>(index);
+    }
+
+    /**
+     * Reads a player's stored snapshot in whichever format their file has. A file that cannot be decoded
+     * is renamed to {@code <name>.corrupt} so it is kept for inspection, and the error is rethrown so the
+     * player is refused rather than handed fresh quests that would be saved over their progress.
+     *
+     * @param uuid The player's UUID.
+     * @return A full snapshot, or null if nothing is stored for them.
+     * @throws IOException If their file could not be read.
+     */
+    @Override
+    public PlayerQuestSnapshot loadPlayer(UUID uuid) throws IOException {
+        File file = playerFile(uuid, true);
+        if (file.exists()) {
+            try {
+                return PlayerQuestCodec.decode(uuid, Files.readAllBytes(file.toPath()));
+            } catch (IOException e) {
+                quarantine(file, e);
+                throw e;
+            }
+        }
+        file = playerFile(uuid, false);
+        if (file.exists()) {
+            return PlayerQuestCodec.fromYaml(uuid, YamlConfiguration.loadConfiguration(file));
+        }
+        return null;
+    }
+
+    @Override
+    public void savePlayers(List<PlayerQuestSnapshot> batch) throws IOException {
+        int failed = 0;
+        for (PlayerQuestSnapshot snapshot : batch) {
+            try {
+                writePlayer(snapshot);
+            } catch (IOException e) {
+                failed++;
+                plugin.log("[Storage] Failed to save quest data for " + snapshot.uuid() + ": " + e.getMessage());
+            }
+        }
+        if (failed > 0) {
+            throw new IOException(failed + " of " + batch.size() + " player files could not be written");
+        }
+    }
+
+    /**
+     * Writes one player's snapshot to their file in the configured format and adds them to the index.
+     * A partial snapshot is merged into the player's stored data first.
+     *
+     * @param snapshot The snapshot.
+     * @throws IOException If the file could not be written.
+     */
+    private void writePlayer(PlayerQuestSnapshot snapshot) throws IOException {
+        UUID uuid = snapshot.uuid();
+        if (!snapshot.full()) {
+            PlayerQuestSnapshot stored = loadPlayer(uuid);
+            if (stored != null) snapshot = stored.merge(snapshot);
+        }
+
+        boolean writeBinary = binary;
+        File file = playerFile(uuid, writeBinary);
+        if (writeBinary) {
+            writeAtomically(file.toPath(), PlayerQuestCodec.encode(snapshot));
+        } else {
+            writeAtomically(file.toPath(), PlayerQuestCodec.toYaml(snapshot).saveToString().getBytes(StandardCharsets.UTF_8));
+        }
+        Files.deleteIfExists(playerFile(uuid, !writeBinary).toPath());
+
+        if (index.add(uuid)) {
+            Files.writeString(indexFile.toPath(), uuid + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Rewrites every stored player file in the given format, and keeps writing that format until the next
+     * restart. Must run on the storage thread.
+     *
+     * @param toBinary True to convert to the binary format, false for YAML.
+     * @return The number of converted and failed files.
+     */
+    public int[] convertAll(boolean toBinary) {
+        binary = toBinary;
+        int converted = 0;
+        int failed = 0;
+        for (UUID uuid : index) {
+            try {
+                PlayerQuestSnapshot snapshot = loadPlayer(uuid);
+                if (snapshot == null) continue;
+                writePlayer(snapshot);
+                converted++;
+            } catch (IOException e) {
+                failed++;
+                plugin.log("[Storage] Failed to convert quest data for " + uuid + ": " + e.getMessage());
+            }
+        }
+        return new int[]{converted, failed};
+    }
+
+    @Override
+    public List<PlayerQuestSnapshot.QuestRecord> loadGlobalQuests() {
+        if (!globalFile.exists()) return new ArrayList<>();
+        return PlayerQuestCodec.readYamlSection(YamlConfiguration.loadConfiguration(globalFile));
+    }
+
+    @Override
+    public void saveGlobalQuests(List<PlayerQuestSnapshot.QuestRecord> records) throws IOException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        PlayerQuestCodec.writeYamlSection(yaml, "", records);
+        writeAtomically(globalFile.toPath(), yaml.saveToString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Map<UUID, Integer> loadScores() {
+        Map<UUID, Integer> scores = new HashMap<>();
+        for (String key : leaderboard.getKeys(false)) {
+            try {
+                scores.put(UUID.fromString(key), leaderboard.getInt(key));
+            } catch (IllegalArgumentException ignored) {
+                plugin.log("[Leaderboard] Skipped invalid UUID: " + key);
+            }
+        }
+        return scores;
+    }
+
+    @Override
+    public void saveScores(Map<UUID, Integer> scores) throws IOException {
+        for (Map.Entry<UUID, Integer> entry : scores.entrySet()) {
+            leaderboard.set(entry.getKey().toString(), entry.getValue());
+        }
+        writeAtomically(leaderboardFile.toPath(), leaderboard.saveToString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void recordCompletion(String questId, UUID player, String playerName) throws IOException {
+        String contents;
+        synchronized (completions) {
+            completions.set(questId + ".completions", completions.getInt(questId + ".completions") + 1);
+            completions.set(questId + ".players." + player, playerName);
+            contents = completions.saveToString();
+        }
+        writeAtomically(completionFile.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public CompletionStats getCompletionStats(String questId) {
+        synchronized (completions) {
+            Map<UUID, String> players = new HashMap<>();
+            ConfigurationSection section = completions.getConfigurationSection(questId + ".players");
+            if (section != null) {
+                for (String key : section.getKeys(false)) {
+                    try {
+                        players.put(UUID.fromString(key), section.getString(key));
+                    } catch (IllegalArgumentException ignored) {}
+                }
+            }
+            return new CompletionStats(completions.getInt(questId + ".completions"), players);
+        }
+    }
+
+    @Override
+    public Set<String> getCompletedQuestIds() {
+        synchronized (completions) {
+            return new HashSet<>(completions.getKeys(false));
+        }
+    }
+
+    @Override
+    public void close() {
+        // Every file is written and closed as it is saved
+    }
+
+    /**
+     * Moves an unreadable player file aside.
+     *
+     * @param file  The file.
+     * @param cause Why it could not be read.
+     */
+    private void quarantine(File file, IOException cause) {
+        File aside = new File(file.getParentFile(), file.getName() + ".corrupt");
+        boolean moved = file.renameTo(aside);
+        plugin.getLogger().warning("[Storage] Could not read " + file.getName() + " (" + cause.getMessage() + ")"
+                + (moved ? ", moved it to " + aside.getName() : ""));
+    }
+
+    /**
+     * Replaces a file by writing a temporary file next to it and moving it over the target, so a crash
+     * mid-write leaves either the old or the new contents.
+     *
+     * @param target   The file to replace.
+     * @param contents The new contents.
+     * @throws IOException If the file could not be written.
+     */
+    private static void writeAtomically(Path target, byte[] contents) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, contents);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Gets the file holding a player's quests. Players are spread over 256 directories by the first two
+     * characters of their UUID, keeping directories small.
+     *
+     * @param uuid       The player's UUID.
+     * @param binaryFile True for the binary file, false for the YAML file.
+     * @return The player's file.
+     */
+    private File playerFile(UUID uuid, boolean binaryFile) {
+        String name = uuid.toString();
+        return new File(new File(playersDir, name.substring(0, 2)), name + (binaryFile ? ".dat" : ".yml"));
+    }
+
+    /**
+     * Reads the index of stored players. If it is missing, it is rebuilt from the shard directories.
+     */
+    private void loadIndex() {
+        if (indexFile.exists()) {
+            try {
+                for (String line : Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) continue;
+                    try {
+                        index.add(UUID.fromString(line.trim()));
+                    } catch (IllegalArgumentException e) {
+                        plugin.getLogger().warning("[Storage] Ignoring invalid UUID in players/index.txt: " + line);
+                    }
+                }
+                return;
+            } catch (IOException e) {
+                plugin.getLogger().warning("[Storage] Could not read players/index.txt, rebuilding it: " + e.getMessage());
+            }
+        }
+
+        File[] shards = playersDir.listFiles(File::isDirectory);
+        if (shards != null) {
+            for (File shard : shards) {
+                File[] files = shard.listFiles((dir, name) -> name.endsWith(".dat") || name.endsWith(".yml"));
+                if (files == null) continue;
+                for (File file : files) {
+                    try {
+                        index.add(UUID.fromString(file.getName().substring(0, file.getName().length() - 4)));
+                    } catch (IllegalArgumentException ignored) {}
+                }
+            }
+        }
+        saveIndex();
+    }
+
+    /**
+     * Rewrites the index from the UUIDs currently known.
+     */
+    private void saveIndex() {
+        StringBuilder builder = new StringBuilder(index.size() * 37);
+        for (UUID uuid : index) builder.append(uuid).append('\n');
+        try {
+            writeAtomically(indexFile.toPath(), builder.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            plugin.log("[Storage] Failed to save players/index.txt: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Splits a legacy player_quests.yml, which held every player in one file, into per-player files.
+     * The legacy file is renamed to player_quests.yml.migrated afterwards and never read again.
+     */
+    private void migrateLegacyFile() {
+        File legacy = new File(plugin.getDataFolder(), "player_quests.yml");
+        if (!legacy.exists()) return;
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(legacy);
+        int migrated = 0;
+        for (String uuidStr : config.getKeys(false)) {
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(uuidStr);
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("[Storage] Skipping invalid UUID in player_quests.yml: " + uuidStr);
+                continue;
+            }
+            if (index.contains(uuid)) continue;
+
+            ConfigurationSection section = config.getConfigurationSection(uuidStr);
+            if (section == null) continue;
+            try {
+                writePlayer(PlayerQuestCodec.fromYaml(uuid, section));
+                migrated++;
+            } catch (IOException e) {
+                plugin.getLogger().warning("[Storage] Failed to migrate quest data for " + uuid + ", keeping player_quests.yml: " + e.getMessage());
+                return;
+            }
+        }
+
+        if (legacy.renameTo(new File(plugin.getDataFolder(), "player_quests.yml.migrated"))) {
+            plugin.log("[Storage] Migrated " + migrated + " players from player_quests.yml to per-player files.");
+        } else {
+            plugin.getLogger().warning("[Storage] Migrated " + migrated + " players but could not rename player_quests.yml.");
+        }
+    }
+}
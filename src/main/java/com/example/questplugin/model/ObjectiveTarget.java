@@ -0,0 +1,173 @@
+package com.example.questplugin.model;
+
+import com.example.questplugin.util.EntityCategoryMatcher;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.EntityType;
+
+import java.util.Locale;
+
+/**
+ * A compiled objective target key.
+ * <p>
+ * Target keys are resolved once when templates are loaded: Material, EntityType and Biome names become the
+ * constants themselves, entity categories such as {@code HOSTILE} or {@code UNDEAD} become a bitset over
+ * {@link EntityType} ordinals, and {@code ANY} becomes a wildcard. Events are then matched by reference or
+ * bit tests instead of comparing strings, and keys that can never match are rejected at load time.
+ */
+public final class ObjectiveTarget {
+
+    /**
+     * The wildcard key accepted by every objective type.
+     */
+    public static final String ANY_KEY = "ANY";
+
+    /**
+     * How a compiled target matches event keys.
+     */
+    public enum Kind {
+        /** Matches every event of the objective's type. */
+        ANY,
+        /** Matches a single Material. */
+        MATERIAL,
+        /** Matches a single EntityType. */
+        ENTITY,
+        /** Matches any EntityType in a category bitset. */
+        CATEGORY,
+        /** Matches a single Biome. */
+        BIOME,
+        /** Matches a free-form upper-case key, e.g. a skill or trade name. */
+        KEY
+    }
+
+    private static final ObjectiveTarget ANY = new ObjectiveTarget(Kind.ANY, null, null);
+
+    private final Kind kind;
+    private final Object key;
+    private final long[] members;
+
+    private ObjectiveTarget(Kind kind, Object key, long[] members) {
+        this.kind = kind;
+        this.key = key;
+        this.members = members;
+    }
+
+    /**
+     * Compiles a target key for an objective type.
+     *
+     * @param type      The objective type.
+     * @param targetKey The raw target key from the template.
+     * @return The compiled target.
+     * @throws IllegalArgumentException If the key cannot match any event of the type.
+     */
+    public static ObjectiveTarget compile(QuestType type, String targetKey) {
+        String normalized = normalizeKey(targetKey);
+        if (type == QuestType.WALK_DISTANCE || normalized.equals(ANY_KEY)) return ANY;
+        if (normalized.isEmpty()) throw new IllegalArgumentException("Missing target_key for " + type);
+
+        return switch (type) {
+            case MINE_BLOCK, PLACE_BLOCK, CRAFT_ITEM, CONSUME_ITEM, GATHER_ITEM -> {
+                Material material = Material.matchMaterial(normalized);
+                if (material == null || material.isLegacy()) {
+                    throw new IllegalArgumentException("Unknown material '" + targetKey + "' for " + type);
+                }
+                yield new ObjectiveTarget(Kind.MATERIAL, material, null);
+            }
+            case KILL_MOB, BREED_ANIMAL, TAME_ENTITY -> {
+                EntityType entityType = entityType(normalized);
+                if (entityType != null) yield new ObjectiveTarget(Kind.ENTITY, entityType, null);
+                long[] category = EntityCategoryMatcher.members(normalized);
+                if (category == null) {
+                    throw new IllegalArgumentException("Unknown entity type or category '" + targetKey + "' for " + type);
+                }
+                yield new ObjectiveTarget(Kind.CATEGORY, normalized, category);
+            }
+            case EXPLORE_BIOME -> {
+                Biome biome = Registry.BIOME.get(NamespacedKey.minecraft(normalized.toLowerCase(Locale.ROOT)));
+                if (biome == null) throw new IllegalArgumentException("Unknown biome '" + targetKey + "' for " + type);
+                yield new ObjectiveTarget(Kind.BIOME, biome, null);
+            }
+            default -> new ObjectiveTarget(Kind.KEY, normalized, null);
+        };
+    }
+
+    /**
+     * Creates an uncompiled literal target that matches its upper-cased key exactly.
+     * Used as a fallback for objectives that did not pass through template compilation.
+     *
+     * @param targetKey The raw target key.
+     * @return A literal target.
+     */
+    public static ObjectiveTarget literal(String targetKey) {
+        String normalized = normalizeKey(targetKey);
+        return normalized.equals(ANY_KEY) ? ANY : new ObjectiveTarget(Kind.KEY, normalized, null);
+    }
+
+    /**
+     * Normalizes a free-form key for comparison. {@link String#toUpperCase(Locale)} returns the same instance
+     * when the key is already upper case.
+     *
+     * @param key The raw key.
+     * @return The upper-case key, or an empty string for null.
+     */
+    public static String normalizeKey(String key) {
+        return key == null ? "" : key.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static EntityType entityType(String name) {
+        try {
+            return EntityType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets how this target matches events.
+     *
+     * @return The target kind.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Checks whether this target matches exactly one event key and can be looked up by it.
+     *
+     * @return true for single-key targets, false for wildcards and categories.
+     */
+    public boolean isExact() {
+        return kind != Kind.ANY && kind != Kind.CATEGORY;
+    }
+
+    /**
+     * Gets the single event key this target matches: a Material, EntityType, Biome or upper-case String.
+     *
+     * @return The exact key, or null for wildcards.
+     */
+    public Object getKey() {
+        return key;
+    }
+
+    /**
+     * Tests an event key against this target.
+     *
+     * @param eventKey The Material, EntityType, Biome or normalized String reported by the event.
+     * @return true if the event counts towards the objective.
+     */
+    public boolean matches(Object eventKey) {
+        return switch (kind) {
+            case ANY -> true;
+            case CATEGORY -> eventKey instanceof EntityType entityType
+                    && (members[entityType.ordinal() >>> 6] & (1L << entityType.ordinal())) != 0;
+            default -> key.equals(eventKey);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.ANY ? ANY_KEY : kind + ":" + key;
+    }
+}
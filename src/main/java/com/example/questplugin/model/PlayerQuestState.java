@@ -0,0 +1,203 @@
+package com.example.questplugin.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The quests a loaded player holds. This is the only place a player's daily and weekly quest lists live:
+ * the objective index, the GUI and storage all read them from here.
+ * <p>
+ * The lists are unmodifiable and replaced as a whole, so a list read once stays consistent even if the
+ * player is reset meanwhile. Every replacement bumps the version, which lets readers that hold on to a
+ * list, like an open GUI page, notice that it went stale. Changes are made on the main thread only.
+ * <p>
+ * Each list is stamped with the reset epoch it was assigned in. Once the current epoch moves on, the list is
+ * replaced on next access rather than at reset time.
+ */
+public class PlayerQuestState {
+
+    /**
+     * The UUID of the player the quests belong to.
+     */
+    private final UUID uuid;
+
+    /**
+     * The player's daily quests.
+     */
+    private volatile List<Quest> daily;
+
+    /**
+     * The player's weekly quests.
+     */
+    private volatile List<Quest> weekly;
+
+    /**
+     * The reset epochs the daily and weekly quests were assigned in.
+     */
+    private volatile long dailyEpoch;
+    private volatile long weeklyEpoch;
+
+    /**
+     * Bumped whenever a quest list is replaced or a quest is added.
+     */
+    private volatile long version;
+
+    /**
+     * The version last queued for saving in full.
+     */
+    private long savedVersion;
+
+    /**
+     * Constructs a new PlayerQuestState holding stored quests. The state counts as saved.
+     *
+     * @param uuid        The player's UUID.
+     * @param daily       The daily quests.
+     * @param weekly      The weekly quests.
+     * @param dailyEpoch  The reset epoch the daily quests were assigned in.
+     * @param weeklyEpoch The reset epoch the weekly quests were assigned in.
+     */
+    public PlayerQuestState(UUID uuid, List<Quest> daily, List<Quest> weekly, long dailyEpoch, long weeklyEpoch) {
+        this.uuid = uuid;
+        this.daily = List.copyOf(daily);
+        this.weekly = List.copyOf(weekly);
+        this.dailyEpoch = dailyEpoch;
+        this.weeklyEpoch = weeklyEpoch;
+    }
+
+    /**
+     * Gets the UUID of the player.
+     *
+     * @return The player's UUID.
+     */
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    /**
+     * Gets the player's daily quests.
+     *
+     * @return An unmodifiable list of daily quests.
+     */
+    public List<Quest> getDaily() {
+        return daily;
+    }
+
+    /**
+     * Gets the player's weekly quests.
+     *
+     * @return An unmodifiable list of weekly quests.
+     */
+    public List<Quest> getWeekly() {
+        return weekly;
+    }
+
+    /**
+     * Gets the player's quests of a tier.
+     *
+     * @param tier {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @return An unmodifiable list of quests, empty for other tiers.
+     */
+    public List<Quest> getQuests(QuestTier tier) {
+        return switch (tier) {
+            case DAILY -> daily;
+            case WEEKLY -> weekly;
+            default -> Collections.emptyList();
+        };
+    }
+
+    /**
+     * Gets the reset epoch a tier's quests were assigned in.
+     *
+     * @param tier {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @return The epoch.
+     */
+    public long getEpoch(QuestTier tier) {
+        return switch (tier) {
+            case DAILY -> dailyEpoch;
+            case WEEKLY -> weeklyEpoch;
+            default -> throw new IllegalArgumentException("Players only hold DAILY and WEEKLY quests: " + tier);
+        };
+    }
+
+    /**
+     * Replaces the player's quests of a tier with ones assigned in a reset epoch.
+     *
+     * @param tier   {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param quests The new quests.
+     * @param epoch  The reset epoch they were assigned in.
+     */
+    public void setQuests(QuestTier tier, List<Quest> quests, long epoch) {
+        setQuests(tier, quests);
+        if (tier == QuestTier.DAILY) dailyEpoch = epoch;
+        else weeklyEpoch = epoch;
+    }
+
+    /**
+     * Replaces the player's quests of a tier, keeping its reset epoch.
+     *
+     * @param tier   {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param quests The new quests.
+     */
+    public void setQuests(QuestTier tier, List<Quest> quests) {
+        switch (tier) {
+            case DAILY -> daily = List.copyOf(quests);
+            case WEEKLY -> weekly = List.copyOf(quests);
+            default -> throw new IllegalArgumentException("Players only hold DAILY and WEEKLY quests: " + tier);
+        }
+        version++;
+    }
+
+    /**
+     * Adds a quest to a tier's list, unless the player already has a quest with the same ID.
+     *
+     * @param tier  {@link QuestTier#DAILY} or {@link QuestTier#WEEKLY}.
+     * @param quest The quest to add.
+     * @return true if the quest was added.
+     */
+    public boolean addQuest(QuestTier tier, Quest quest) {
+        if (hasQuest(quest.getId())) return false;
+        List<Quest> quests = new ArrayList<>(getQuests(tier));
+        quests.add(quest);
+        setQuests(tier, quests);
+        return true;
+    }
+
+    /**
+     * Checks whether the player has a daily or weekly quest with the given ID.
+     *
+     * @param questId The quest ID, compared case-insensitively.
+     * @return true if the player has the quest.
+     */
+    public boolean hasQuest(String questId) {
+        for (Quest quest : daily) {
+            if (quest.getId().equalsIgnoreCase(questId)) return true;
+        }
+        for (Quest quest : weekly) {
+            if (quest.getId().equalsIgnoreCase(questId)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the version of the quest lists.
+     *
+     * @return The version, starting at 0 when the player is loaded.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Records that the current quest lists are queued for saving in full.
+     *
+     * @return true if the lists changed since they were last saved in full, i.e. the save must replace
+     *         everything stored for the player rather than only the changed quests.
+     */
+    public boolean markSaved() {
+        boolean replaced = savedVersion != version;
+        savedVersion = version;
+        return replaced;
+    }
+}
@@ -5,8 +5,12 @@ import java.util.List;
 import java.util.UUID;
 
 import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
 
+import com.example.questplugin.events.ObjectiveCompleteEvent;
 import com.example.questplugin.events.QuestCompleteEvent;
+import com.example.questplugin.events.QuestReadyEvent;
 
 /**
  * Represents a quest that can be completed by a player.
@@ -54,7 +58,8 @@ public class Quest {
     private final List<QuestTemplate.Objective> objectives = new ArrayList<>();
 
     /**
-     * The current progress of the quest in completing objectives.
+     * The current progress of the quest in completing objectives, i.e. the number of completed objectives.
+     * The remaining objective count is {@code targetAmount - progress}, so completion checks are O(1).
      */
     private int progress = 0;
 
@@ -63,6 +68,11 @@ public class Quest {
      */
     private boolean rewardClaimed = false;
 
+    /**
+     * Whether this quest changed since it was last captured for saving.
+     */
+    private boolean dirty = false;
+
     /**
      * The type of skill required to complete the quest.
      */
@@ -82,7 +92,7 @@ public class Quest {
     public Quest(QuestTemplate template, UUID playerUUID) {
         this.playerUUID = playerUUID;
         for (QuestTemplate.Objective obj : template.getObjectives()) {
-            objectives.add(new QuestTemplate.Objective(obj.getType(), obj.getTargetKey(), obj.getTargetAmount(), obj.getDescription()));
+            objectives.add(new QuestTemplate.Objective(obj));
         }
         this.targetAmount = objectives.size();
         this.id = template.getId();
@@ -221,6 +231,69 @@ public class Quest {
         }
     }
 
+    /**
+     * Returns the number of objectives that have not reached their target yet.
+     *
+     * @return the remaining objective count
+     */
+    public int getRemainingObjectives() {
+        return Math.max(0, targetAmount - progress);
+    }
+
+    /**
+     * Adds progress to one of this quest's objectives. If the objective reaches its target, the
+     * completion transition is applied (see {@link #completeObjective(Player, QuestTemplate.Objective)}).
+     *
+     * @param player    the player who made the progress, or null if offline
+     * @param objective the objective, which must belong to this quest
+     * @param amount    the amount of progress
+     * @return true if this call completed the objective
+     */
+    public boolean applyProgress(Player player, QuestTemplate.Objective objective, int amount) {
+        if (objective.isCompleted()) return false;
+        objective.incrementProgress(amount);
+        dirty = true;
+        if (objective.getProgress() < objective.getTargetAmount()) return false;
+        return completeObjective(player, objective);
+    }
+
+    /**
+     * Marks an objective complete and fires the one-shot transition events: an
+     * {@link ObjectiveCompleteEvent} carrying the remaining objective count, followed by a
+     * {@link QuestReadyEvent} when it was the last objective. Repeated calls for the same objective do nothing.
+     *
+     * @param player    the player who completed the objective, or null if offline
+     * @param objective the objective, which must belong to this quest
+     * @return true if the objective was newly completed
+     */
+    public boolean completeObjective(Player player, QuestTemplate.Objective objective) {
+        if (!objective.markCompleted()) return false;
+        progress++;
+        dirty = true;
+
+        PluginManager pluginManager = Bukkit.getServer().getPluginManager();
+        pluginManager.callEvent(new ObjectiveCompleteEvent(player, this, objective, getRemainingObjectives()));
+        if (progress == targetAmount) {
+            pluginManager.callEvent(new QuestReadyEvent(player, this));
+        }
+        return true;
+    }
+
+    /**
+     * Recomputes the completed objective count from the objectives' progress, e.g. after loading saved
+     * progress. No transition events are fired.
+     */
+    public void recount() {
+        int completed = 0;
+        for (QuestTemplate.Objective objective : objectives) {
+            if (objective.getProgress() >= objective.getTargetAmount()) {
+                objective.markCompleted();
+            }
+            if (objective.isCompleted()) completed++;
+        }
+        this.progress = completed;
+    }
+
     /**
      * Sets the current progress of completing objectives in the quest.
      *
@@ -228,14 +301,18 @@ public class Quest {
      */
     public void setCurrentProgress(int amount) {
         this.progress = amount;
+        this.dirty = true;
     }
 
     /**
      * Claims the reward for this quest, indicating that it has been completed and the reward is claimed.
+     *
+     * @param player the player claiming the reward
      */
-    public void claimReward() {
+    public void claimReward(Player player) {
         this.rewardClaimed = true;
-        Bukkit.getServer().getPluginManager().callEvent(new QuestCompleteEvent(Bukkit.getPlayer(playerUUID), this));
+        this.dirty = true;
+        Bukkit.getServer().getPluginManager().callEvent(new QuestCompleteEvent(player, this));
     }
 
     /**
@@ -243,6 +320,23 @@ public class Quest {
      */
     public void setRewardClaimed() {
         rewardClaimed = true;
+        dirty = true;
+    }
+
+    /**
+     * Checks whether this quest changed since it was last captured for saving.
+     *
+     * @return true if the quest has unsaved changes
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Clears the unsaved-changes flag, e.g. after the quest was loaded or captured for saving.
+     */
+    public void clearDirty() {
+        dirty = false;
     }
 
     /**
@@ -251,11 +345,6 @@ public class Quest {
      * @return true if the reward can be claimed, false otherwise
      */
     public boolean canClaim() {
-        for (QuestTemplate.Objective objective : objectives) {
-            if (objective.getProgress() < objective.getTargetAmount()) {
-                return false;
-            }
-        }
         return isCompleted() && !isRewardClaimed();
     }
 }
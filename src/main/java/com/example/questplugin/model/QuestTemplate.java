@@ -122,6 +122,17 @@ public class QuestTemplate {
         return new ArrayList<>(objectives); // Return defensive copy to prevent external modification
     }
 
+    /**
+     * Compiles the target keys of all objectives.
+     *
+     * @throws IllegalArgumentException If any objective has a target key that can never match.
+     */
+    public void compileTargets() {
+        for (Objective objective : objectives) {
+            objective.compile();
+        }
+    }
+
     /**
      * Converts this QuestTemplate to an instance of the Quest class.
      *
@@ -140,6 +151,8 @@ public class QuestTemplate {
         private final int targetAmount;
         private int progress = 0;
         private final String description;
+        private ObjectiveTarget target;
+        private boolean completed;
 
         /**
          * Constructs a new Objective with the given parameters.
@@ -160,6 +173,45 @@ public class QuestTemplate {
             this.targetAmount = targetAmount;
         }
 
+        /**
+         * Constructs a fresh copy of a template objective with zero progress, sharing its compiled target.
+         *
+         * @param template The template objective to copy.
+         */
+        public Objective(Objective template) {
+            this.type = template.type;
+            this.targetKey = template.targetKey;
+            this.targetAmount = template.targetAmount;
+            this.description = template.description;
+            this.target = template.target;
+        }
+
+        /**
+         * Resolves the target key into a typed matcher. Called once per template objective at load time.
+         *
+         * @throws IllegalArgumentException If the target key can never match an event of this type.
+         */
+        public void compile() {
+            this.target = ObjectiveTarget.compile(type, targetKey);
+        }
+
+        /**
+         * Gets the compiled target of the objective, falling back to a literal key match if the objective
+         * was never compiled.
+         *
+         * @return The compiled target.
+         */
+        public ObjectiveTarget getTarget() {
+            if (target == null) {
+                try {
+                    target = ObjectiveTarget.compile(type, targetKey);
+                } catch (IllegalArgumentException e) {
+                    target = ObjectiveTarget.literal(targetKey);
+                }
+            }
+            return target;
+        }
+
         /**
          * Gets the type of the objective.
          *
@@ -205,6 +257,26 @@ public class QuestTemplate {
             this.progress += amountToProgress;
         }
 
+        /**
+         * Checks whether the objective has been marked complete by its quest.
+         *
+         * @return true once the objective's completion transition has happened.
+         */
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        /**
+         * Marks the objective complete.
+         *
+         * @return true the first time only.
+         */
+        boolean markCompleted() {
+            if (completed) return false;
+            completed = true;
+            return true;
+        }
+
         /**
          * Gets a description of the objective.
          *
@@ -13,9 +13,11 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.model.PlayerQuestState;
 import com.example.questplugin.model.Quest;
 import com.example.questplugin.model.QuestTier;
 import com.example.questplugin.util.QuestFilter;
+import com.example.questplugin.util.QuestTracer;
 
 import java.util.*;
 
@@ -26,6 +28,7 @@ public class QuestGUI implements Listener {
     private final Map<UUID, QuestTier> tierMap = new HashMap<>();
     private final Map<UUID, QuestFilter> filterMap = new HashMap<>();
     private final Map<UUID, Map<Integer, Quest>> slotQuestMap = new HashMap<>();
+    private final Map<UUID, Long> versionMap = new HashMap<>(); // Quest list version each open page was built from
 
     public QuestGUI(QuestPlugin plugin) {
         this.plugin = plugin;
@@ -55,6 +58,10 @@ public class QuestGUI implements Listener {
         }
 
         slotQuestMap.put(player.getUniqueId(), slotMap);
+        versionMap.put(player.getUniqueId(), getQuestVersion(player.getUniqueId()));
+        pageMap.put(player.getUniqueId(), page);
+        tierMap.put(player.getUniqueId(), tier);
+        filterMap.put(player.getUniqueId(), filter);
 
         gui.setItem(27, page > 0 ? NavItemFactory.createNavItem(Material.ARROW, "Previous Page") : NavItemFactory.createNavItem(Material.RED_STAINED_GLASS_PANE, "No Previous Page"));
         gui.setItem(28, NavItemFactory.createNavItem(Material.BARRIER, "§cClose Menu"));
@@ -86,18 +93,19 @@ public class QuestGUI implements Listener {
 
         questMap = slotQuestMap.get(player.getUniqueId());
         if (questMap.containsKey(slot)) {
+            if (!Objects.equals(versionMap.get(player.getUniqueId()), getQuestVersion(player.getUniqueId()))) {
+                // The player's quests were replaced, e.g. by a reset, while the page was open
+                player.sendMessage(ChatColor.YELLOW + "Your quests have changed.");
+                open(player, 0, tierMap.getOrDefault(player.getUniqueId(), QuestTier.DAILY), QuestFilter.ALL);
+                return;
+            }
             Quest quest = questMap.get(slot);
-            plugin.debug("[GUI] Player clicked quest: " + quest.getId() + " | canClaim=" + quest.canClaim());
+            plugin.getTracer().trace(QuestTracer.Category.GUI, QuestTracer.Level.DEBUG, () -> "[GUI] Player clicked quest: " + quest.getId() + " | canClaim=" + quest.canClaim());
 
             if (quest.canClaim()) {
                 try {
                     plugin.getRewardHandler().giveReward(player, quest, true);
                     plugin.getQuestNotifier().notifyCompletion(player, quest);
-                    plugin.getQuestStorage().savePlayerQuests(
-                            player.getUniqueId(),
-                            plugin.getQuestManager().getPlayerDailyQuests(player.getUniqueId()),
-                            plugin.getQuestManager().getPlayerWeeklyQuests(player.getUniqueId())
-                    );
                 } catch (Exception e) {
                     e.printStackTrace();
                     player.sendMessage("§cAn error occurred while claiming the quest.");
@@ -132,6 +140,11 @@ public class QuestGUI implements Listener {
         ShimmeringBorderHandler.stopShimmering(event.getPlayer().getUniqueId());
     }
 
+    private long getQuestVersion(UUID uuid) {
+        PlayerQuestState state = plugin.getQuestManager().getState(uuid);
+        return state != null ? state.getVersion() : -1L;
+    }
+
     private String getGuiTitle(QuestTier tier, int page) {
         return switch (tier) {
             case DAILY -> "§a§lDaily Quests §7(Page " + (page + 1) + ")";
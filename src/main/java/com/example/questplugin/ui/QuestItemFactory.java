@@ -6,8 +6,11 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.managers.GlobalProgressTracker;
 import com.example.questplugin.model.Quest;
 import com.example.questplugin.model.QuestTemplate;
+import com.example.questplugin.model.QuestTier;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,9 +32,11 @@ public class QuestItemFactory {
         meta.setDisplayName(quest.getRarity().getColor() + quest.getDescription());
         List<String> lore = new ArrayList<>();
         lore.add("");
+        GlobalProgressTracker globalProgress = QuestPlugin.getInstance().getQuestManager().getGlobalProgress();
         for (QuestTemplate.Objective obj : quest.getQuestObjectives()) {
+            long progress = quest.getTier() == QuestTier.GLOBAL ? globalProgress.snapshot(obj) : obj.getProgress();
             lore.add(obj.getDescription());
-            lore.add(obj.getProgress() + " /" + obj.getTargetAmount());
+            lore.add(progress + " /" + obj.getTargetAmount());
         }
         lore.add("");
         lore.add("Overall : " + quest.getCurrentProgress() + " / " + quest.getTargetAmount());
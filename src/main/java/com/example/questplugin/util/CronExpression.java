@@ -0,0 +1,172 @@
+package com.example.questplugin.util;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * A parsed six-field cron expression, as used by {@code Reset.DailyTime} and {@code Reset.WeeklyTime}:
+ * <pre>
+ * second minute hour day-of-month month day-of-week
+ * </pre>
+ * Each field accepts {@code *}, {@code ?}, single values, ranges ({@code 1-5}), steps ({@code *}{@code /15},
+ * {@code 10-40/10}) and comma separated lists of those. Months accept {@code JAN}-{@code DEC} and days of
+ * the week {@code SUN}-{@code SAT}, or 0-7 where both 0 and 7 are Sunday. A time must match every field, so
+ * a day-of-month and a day-of-week restriction both apply.
+ * <p>
+ * Fields are kept as bitsets, and {@link #next(ZonedDateTime)} skips whole months, days, hours and minutes
+ * that cannot match, so finding the next fire time takes at most a few thousand steps even for a yearly
+ * expression.
+ */
+public final class CronExpression {
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAYS = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    /**
+     * Steps {@link #next(ZonedDateTime)} takes before giving up on an expression that never matches,
+     * e.g. {@code 0 0 0 30 FEB *}. Enough for every day of several years.
+     */
+    private static final int MAX_STEPS = 20_000;
+
+    private final String expression;
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+
+    private CronExpression(String expression, long[] fields) {
+        this.expression = expression;
+        this.seconds = fields[0];
+        this.minutes = fields[1];
+        this.hours = fields[2];
+        this.daysOfMonth = fields[3];
+        this.months = fields[4];
+        this.daysOfWeek = fields[5];
+    }
+
+    /**
+     * Parses a cron expression.
+     *
+     * @param expression The expression, six whitespace separated fields.
+     * @return The parsed expression.
+     * @throws IllegalArgumentException If the expression is malformed.
+     */
+    public static CronExpression parse(String expression) {
+        String[] parts = expression.trim().split("\\s+");
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("Expected 6 fields but found " + parts.length + " in '" + expression + "'");
+        }
+        long[] fields = {
+                parseField(parts[0], 0, 59, null),
+                parseField(parts[1], 0, 59, null),
+                parseField(parts[2], 0, 23, null),
+                parseField(parts[3], 1, 31, null),
+                parseField(parts[4], 1, 12, MONTHS),
+                parseField(parts[5], 0, 7, DAYS)
+        };
+        // 7 is Sunday too
+        if ((fields[5] & (1L << 7)) != 0) {
+            fields[5] = (fields[5] | 1L) & ~(1L << 7);
+        }
+        return new CronExpression(expression, fields);
+    }
+
+    /**
+     * Parses one field into a bitset of the values it matches.
+     *
+     * @param field The field text.
+     * @param min   The lowest allowed value.
+     * @param max   The highest allowed value.
+     * @param names Names for the values from min up, or null.
+     * @return The bitset.
+     * @throws IllegalArgumentException If the field is malformed or out of range.
+     */
+    private static long parseField(String field, int min, int max, String[] names) {
+        long bits = 0L;
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseValue(part.substring(slash + 1), 1, max, null);
+                part = part.substring(0, slash);
+            }
+            int from;
+            int to;
+            if (part.equals("*") || part.equals("?")) {
+                from = min;
+                to = max;
+            } else {
+                int dash = part.indexOf('-');
+                if (dash > 0) {
+                    from = parseValue(part.substring(0, dash), min, max, names);
+                    to = parseValue(part.substring(dash + 1), min, max, names);
+                    if (to < from) throw new IllegalArgumentException("Descending range '" + part + "'");
+                } else {
+                    from = parseValue(part, min, max, names);
+                    to = slash >= 0 ? max : from;
+                }
+            }
+            for (int value = from; value <= to; value += step) {
+                bits |= 1L << value;
+            }
+        }
+        return bits;
+    }
+
+    private static int parseValue(String text, int min, int max, String[] names) {
+        if (names != null) {
+            String upper = text.toUpperCase(Locale.ROOT);
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(upper)) return min + i;
+            }
+        }
+        int value;
+        try {
+            value = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value '" + text + "'");
+        }
+        if (value < min || value > max) {
+            throw new IllegalArgumentException("Value " + value + " is outside " + min + "-" + max);
+        }
+        return value;
+    }
+
+    /**
+     * Finds the first time after the given one that matches the expression, in the given time's zone.
+     *
+     * @param after The time to search from, exclusive.
+     * @return The next matching time, truncated to the second, or null if the expression never matches.
+     */
+    public ZonedDateTime next(ZonedDateTime after) {
+        ZonedDateTime time = after.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        for (int step = 0; step < MAX_STEPS; step++) {
+            if (!has(months, time.getMonthValue())) {
+                time = time.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay(time.getZone());
+            } else if (!has(daysOfMonth, time.getDayOfMonth()) || !has(daysOfWeek, time.getDayOfWeek().getValue() % 7)) {
+                time = time.toLocalDate().plusDays(1).atStartOfDay(time.getZone());
+            } else if (!has(hours, time.getHour())) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!has(minutes, time.getMinute())) {
+                time = time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+            } else if (!has(seconds, time.getSecond())) {
+                time = time.plusSeconds(1);
+            } else {
+                return time;
+            }
+        }
+        return null;
+    }
+
+    private static boolean has(long bits, int value) {
+        return (bits & (1L << value)) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
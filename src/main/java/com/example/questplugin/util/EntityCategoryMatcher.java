@@ -5,17 +5,58 @@
  */
 package com.example.questplugin.util;
 
+import com.example.questplugin.QuestPlugin;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Monster;
 import org.bukkit.entity.Animals;
 
+import java.util.*;
+
 /**
- * The {@code EntityCategoryMatcher} class contains a single method, {@link #matches(String, String)},
- * which takes a target category (e.g., "HOSTILE", "PASSIVE", "BOSS", or "UNDEAD") and an entity type,
- * then returns a boolean indicating whether the given entity type matches the target category.
+ * The {@code EntityCategoryMatcher} class resolves category names (e.g., "HOSTILE", "PASSIVE", "BOSS",
+ * "UNDEAD", or a category declared under {@code EntityCategories} in config.yml) into membership tables.
+ * <p>
+ * The tables are built once by {@link #load(QuestPlugin)}: each category is a bitset over
+ * {@link EntityType} ordinals, so a membership test is a single array read and bit test. Quest objectives
+ * compile their category once at template load, so custom categories cost nothing extra per kill.
  */
 public class EntityCategoryMatcher {
 
+    /**
+     * Category tables keyed by upper-case category name.
+     */
+    private static volatile Map<String, long[]> categories = buildDefaults();
+
+    /**
+     * Rebuilds the category tables from the built-in categories and the {@code EntityCategories}
+     * section of the plugin config. A custom category with a built-in name extends the built-in one.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public static void load(QuestPlugin plugin) {
+        Map<String, long[]> tables = buildDefaults();
+
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("EntityCategories");
+        if (section != null) {
+            for (String name : section.getKeys(false)) {
+                String category = name.trim().toUpperCase(Locale.ROOT);
+                long[] bits = tables.computeIfAbsent(category, k -> newBitset());
+                for (String entry : section.getStringList(name)) {
+                    EntityType type = entityType(entry);
+                    if (type == null) {
+                        plugin.getLogger().warning("[EntityCategories] Unknown entity type '" + entry + "' in category " + category);
+                        continue;
+                    }
+                    set(bits, type);
+                }
+                plugin.getTracer().trace(QuestTracer.Category.GENERAL, QuestTracer.Level.DEBUG, () -> "[EntityCategories] Loaded category " + category + " (" + count(bits) + " entity types)");
+            }
+        }
+
+        categories = tables;
+    }
+
     /**
      * Matches the input entity type with the target category.
      *
@@ -26,28 +67,76 @@ public class EntityCategoryMatcher {
     public static boolean matches(String targetKey, String inputEntityType) {
         if (targetKey == null || inputEntityType == null) return false;
 
-        String target = targetKey.trim().toUpperCase();
-        String input = inputEntityType.trim().toUpperCase();
+        String target = targetKey.trim().toUpperCase(Locale.ROOT);
+        String input = inputEntityType.trim().toUpperCase(Locale.ROOT);
 
         if (target.equals(input)) return true;
 
-        EntityType entityType;
-        try {
-            entityType = EntityType.valueOf(input);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        EntityType entityType = entityType(input);
+        return entityType != null && matches(target, entityType);
+    }
 
-        Class<?> clazz = entityType.getEntityClass();
-        if (clazz == null) return false;
+    /**
+     * Checks whether an entity type belongs to a category in constant time.
+     *
+     * @param category The upper-case category name.
+     * @param entityType The entity type to check.
+     * @return {@code true} if the entity type is in the category.
+     */
+    public static boolean matches(String category, EntityType entityType) {
+        long[] bits = categories.get(category);
+        return bits != null && isSet(bits, entityType);
+    }
 
-        return switch (target) {
-            case "HOSTILE" -> Monster.class.isAssignableFrom(clazz);
-            case "PASSIVE" -> Animals.class.isAssignableFrom(clazz);
-            case "BOSS" -> isBoss(entityType);
-            case "UNDEAD" -> isUndead(entityType);
-            default -> false;
-        };
+    /**
+     * Gets the set of entity types in a category as a bitset over {@link EntityType} ordinals.
+     * The returned array is shared and must not be modified.
+     *
+     * @param category The category name, e.g. "HOSTILE", "PASSIVE", "BOSS", "UNDEAD" or a custom category.
+     * @return The member bitset, or {@code null} if the category is unknown.
+     */
+    public static long[] members(String category) {
+        if (category == null) return null;
+        return categories.get(category.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the names of all known categories.
+     *
+     * @return The category names.
+     */
+    public static Set<String> getCategories() {
+        return Collections.unmodifiableSet(categories.keySet());
+    }
+
+    /**
+     * Builds the tables for the built-in categories. This is the only place the entity class hierarchy
+     * is inspected.
+     *
+     * @return Fresh built-in category tables.
+     */
+    private static Map<String, long[]> buildDefaults() {
+        long[] hostile = newBitset();
+        long[] passive = newBitset();
+        long[] boss = newBitset();
+        long[] undead = newBitset();
+
+        for (EntityType type : EntityType.values()) {
+            Class<?> clazz = type.getEntityClass();
+            if (clazz != null) {
+                if (Monster.class.isAssignableFrom(clazz)) set(hostile, type);
+                if (Animals.class.isAssignableFrom(clazz)) set(passive, type);
+            }
+            if (isBoss(type)) set(boss, type);
+            if (isUndead(type)) set(undead, type);
+        }
+
+        Map<String, long[]> tables = new HashMap<>();
+        tables.put("HOSTILE", hostile);
+        tables.put("PASSIVE", passive);
+        tables.put("BOSS", boss);
+        tables.put("UNDEAD", undead);
+        return tables;
     }
 
     /**
@@ -68,10 +157,36 @@ public class EntityCategoryMatcher {
      */
     private static boolean isUndead(EntityType type) {
         return switch (type) {
-            case ZOMBIE, ZOMBIE_VILLAGER, HUSK,
-                 SKELETON, STRAY, WITHER_SKELETON,
-                 DROWNED, WITHER -> true;
+            case ZOMBIE, ZOMBIE_VILLAGER, HUSK, ZOMBIFIED_PIGLIN, ZOGLIN, ZOMBIE_HORSE,
+                 SKELETON, STRAY, WITHER_SKELETON, BOGGED, SKELETON_HORSE,
+                 DROWNED, PHANTOM, WITHER -> true;
             default -> false;
         };
     }
-}
\ No newline at end of file
+
+    private static EntityType entityType(String name) {
+        try {
+            return EntityType.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long[] newBitset() {
+        return new long[(EntityType.values().length + 63) >>> 6];
+    }
+
+    private static void set(long[] bits, EntityType type) {
+        bits[type.ordinal() >>> 6] |= 1L << type.ordinal();
+    }
+
+    private static boolean isSet(long[] bits, EntityType type) {
+        return (bits[type.ordinal() >>> 6] & (1L << type.ordinal())) != 0;
+    }
+
+    private static int count(long[] bits) {
+        int count = 0;
+        for (long word : bits) count += Long.bitCount(word);
+        return count;
+    }
+}
@@ -4,18 +4,58 @@
 package com.example.questplugin.util;
 
 import com.example.questplugin.QuestPlugin;
+import com.example.questplugin.events.QuestReadyEvent;
 import com.example.questplugin.model.Quest;
 import com.example.questplugin.model.QuestTemplate;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+import java.util.*;
+
 /**
  * The {@code QuestNotifier} class provides utility methods for notifying players about quest progress and completion in a Bukkit/Spigot plugin.
+ * <p>
+ * Notifications are coalesced per player: progress milestones and completions reported between two flushes
+ * are merged into at most one action bar, one title and one sound, sent every
+ * {@code Notifications.Interval} ticks. Completion titles are shown once per quest, and the static parts of
+ * the action bar are built once and reused. Completion titles are driven by {@link QuestReadyEvent}, which
+ * fires once when a quest's last objective is completed.
  */
-public class QuestNotifier {
+public class QuestNotifier implements Runnable, Listener {
+
+    private static final Component PREFIX = Component.text("Objective: ", NamedTextColor.YELLOW);
+    private static final Component[] PERCENTAGES = new Component[10];
+    private static final String COMPLETE_TITLE = "✔ Quest Complete!";
+
+    static {
+        for (int i = 1; i < PERCENTAGES.length; i++) {
+            PERCENTAGES[i] = Component.text(" [" + (i * 10) + "%]", NamedTextColor.YELLOW);
+        }
+    }
+
     private final QuestPlugin plugin;
 
+    /**
+     * Notifications waiting for the next flush, per player.
+     */
+    private final Map<UUID, Pending> pending = new HashMap<>();
+
+    /**
+     * Quests whose completion title has already been shown. Weak so finished quests can be collected.
+     */
+    private final Set<Quest> announced = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * Quest descriptions rendered as components, keyed by description text, so a quest whose template was
+     * edited and reloaded never shows the old text. Cleared on every template reload.
+     */
+    private final Map<String, Component> descriptions = new HashMap<>();
+
     /**
      * Constructs a {@code QuestNotifier} instance with the given {@link QuestPlugin}.
      *
@@ -25,6 +65,22 @@ public class QuestNotifier {
         this.plugin = plugin;
     }
 
+    /**
+     * Drops the rendered descriptions, e.g. after the quest templates were reloaded.
+     */
+    public void clearDescriptions() {
+        descriptions.clear();
+    }
+
+    /**
+     * Gets the configured number of ticks between notification flushes.
+     *
+     * @return The flush interval in ticks.
+     */
+    public long getInterval() {
+        return Math.max(1L, plugin.getConfig().getLong("Notifications.Interval", 10L));
+    }
+
     /**
      * Notifies the player about quest progress using the action bar. This triggers every 10% milestone (excluding 0% and 100%) with a sound effect.
      *
@@ -33,29 +89,121 @@ public class QuestNotifier {
      * @param quest The {@link Quest} instance representing the current quest.
      */
     public void notifyProgress(Player player, QuestTemplate.Objective obj, Quest quest) {
-        double percent = (double) obj.getProgress() / obj.getTargetAmount();
-        int percentage = (int) (percent * 100);
-
-        if (percentage % 10 == 0 && percentage != 0 && !quest.isCompleted()) {
-            Component actionBar = Component.text()
-                    .append(Component.text("Objective: ", NamedTextColor.YELLOW))
-                    .append(Component.text(quest.getDescription(), NamedTextColor.GOLD))
-                    .append(Component.text(" [" + percentage + "%]", NamedTextColor.YELLOW))
-                    .build();
-
-            plugin.adventure().player(player).sendActionBar(actionBar);
-            player.playSound(player.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1f, 1.2f);
+        notifyProgress(player, quest, obj.getProgress() - 1L, obj.getProgress(), obj.getTargetAmount());
+    }
+
+    /**
+     * Notifies the player about quest progress that moved from one value to another in a single step,
+     * e.g. a batched flush or a global progress snapshot. A notification is queued when a 10% milestone
+     * (excluding 0% and 100%) was crossed between the two values.
+     *
+     * @param player   The {@link Player} to notify.
+     * @param quest    The {@link Quest} instance representing the current quest.
+     * @param previous The objective progress before the update.
+     * @param progress The objective progress after the update.
+     * @param target   The objective's target amount.
+     */
+    public void notifyProgress(Player player, Quest quest, long previous, long progress, int target) {
+        if (target <= 0) return;
+        int before = (int) (previous * 10 / target);
+        int after = (int) (progress * 10 / target);
+
+        if (after != before && after > 0 && after < 10 && !quest.isCompleted()) {
+            Pending entry = pending.computeIfAbsent(player.getUniqueId(), id -> new Pending());
+            if (!entry.quests.contains(quest)) entry.quests.add(quest);
+            entry.quest = quest;
+            entry.milestone = after;
         }
     }
 
     /**
      * Shows a title to the player when a quest is completed with a sound effect.
+     * Each quest is only announced once, however often its completion is reported.
      *
      * @param player The {@link Player} to notify.
      * @param quest  The {@link Quest} instance representing the completed quest.
      */
     public void notifyCompletion(Player player, Quest quest) {
-        player.sendTitle("✔ Quest Complete!", null, 5, 30, 5);
-        player.playSound(player.getLocation(), Sound.UI_TOAST_CHALLENGE_COMPLETE, 1f, 1f);
+        if (!announced.add(quest)) return;
+        pending.computeIfAbsent(player.getUniqueId(), id -> new Pending()).completed++;
+    }
+
+    /**
+     * Announces a quest whose last objective was just completed.
+     *
+     * @param event The quest ready event.
+     */
+    @EventHandler
+    public void onQuestReady(QuestReadyEvent event) {
+        if (event.getPlayer() != null) {
+            notifyCompletion(event.getPlayer(), event.getQuest());
+        }
+    }
+
+    /**
+     * Sends all pending notifications, one action bar, title and sound per player at most. Runs on the main thread.
+     */
+    @Override
+    public void run() {
+        if (pending.isEmpty()) return;
+
+        for (Map.Entry<UUID, Pending> entry : pending.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) continue;
+            Pending notification = entry.getValue();
+
+            if (notification.completed > 0) {
+                String subtitle = notification.completed > 1 ? notification.completed + " quests completed" : null;
+                player.sendTitle(COMPLETE_TITLE, subtitle, 5, 30, 5);
+                player.playSound(player.getLocation(), Sound.UI_TOAST_CHALLENGE_COMPLETE, 1f, 1f);
+            } else if (notification.quest != null) {
+                player.playSound(player.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1f, 1.2f);
+            }
+
+            if (notification.quest != null && !notification.quest.isCompleted()) {
+                plugin.adventure().player(player).sendActionBar(actionBar(notification));
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Drops any notifications queued for a player, e.g. when they leave.
+     *
+     * @param uuid The player's UUID.
+     */
+    public void clear(UUID uuid) {
+        pending.remove(uuid);
+    }
+
+    /**
+     * Builds the action bar for a player's most recent milestone from cached parts.
+     *
+     * @param notification The pending notification.
+     * @return The action bar component.
+     */
+    private Component actionBar(Pending notification) {
+        Quest quest = notification.quest;
+        Component description = descriptions.computeIfAbsent(quest.getDescription(),
+                text -> Component.text(text, NamedTextColor.GOLD));
+
+        var builder = Component.text()
+                .append(PREFIX)
+                .append(description)
+                .append(PERCENTAGES[notification.milestone]);
+        if (notification.quests.size() > 1) {
+            builder.append(Component.text(" (+" + (notification.quests.size() - 1) + " more)", NamedTextColor.GRAY));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Notifications collected for a single player between two flushes.
+     */
+    private static class Pending {
+        private Quest quest;
+        private int milestone;
+        private final List<Quest> quests = new ArrayList<>(2);
+        private int completed;
     }
 }
@@ -0,0 +1,218 @@
+package com.example.questplugin.util;
+
+import com.example.questplugin.QuestPlugin;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Structured debug tracing with per-subsystem levels, sampling and an in-memory ring buffer.
+ * <p>
+ * Hot paths guard each message with {@link #isEnabled(Category, Level)}, which is an array read and a
+ * comparison, so a disabled category costs no string building and no allocation:
+ * <pre>
+ * if (tracer.isEnabled(Category.DISPATCH, Level.DEBUG)) {
+ *     tracer.trace(Category.DISPATCH, Level.DEBUG, "[Kill] " + killer.getName() + " killed " + type);
+ * }
+ * </pre>
+ * Cold paths may pass a {@link Supplier} instead. Recorded messages are kept in a fixed-size ring buffer
+ * that can be dumped in game with {@code /questdev trace}, and optionally echoed to the console.
+ */
+public class QuestTracer {
+
+    /**
+     * Subsystems that can be traced independently.
+     */
+    public enum Category {
+        /** Uncategorized messages sent through {@link QuestPlugin#debug(String)}. */
+        GENERAL,
+        /** Event handling, objective matching and progress application. */
+        DISPATCH,
+        /** Loading and saving quest data. */
+        STORAGE,
+        /** Quest menus. */
+        GUI,
+        /** Leaderboard scores and holograms. */
+        LEADERBOARD
+    }
+
+    /**
+     * Verbosity levels, from least to most verbose.
+     */
+    public enum Level {
+        OFF, INFO, DEBUG, TRACE
+    }
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final QuestPlugin plugin;
+    private final int[] levels = new int[Category.values().length];
+    private final int[] sampleRates = new int[Category.values().length];
+    private final AtomicLongArray sampleCounters = new AtomicLongArray(Category.values().length);
+    private volatile boolean console;
+
+    private long[] times;
+    private Category[] categories;
+    private Level[] entryLevels;
+    private String[] messages;
+    private int next;
+    private int size;
+
+    /**
+     * Constructs a new QuestTracer and applies the tracing settings from config.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public QuestTracer(QuestPlugin plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Reads the {@code Tracing} section of the config. {@code Debug: true} raises every category to at
+     * least {@link Level#DEBUG}.
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfig();
+        boolean debug = config.getBoolean("Debug", false);
+        ConfigurationSection levelSection = config.getConfigurationSection("Tracing.Levels");
+        ConfigurationSection sampleSection = config.getConfigurationSection("Tracing.SampleRate");
+
+        for (Category category : Category.values()) {
+            Level level = parseLevel(levelSection == null ? null : levelSection.getString(category.name()), Level.OFF);
+            if (debug && level.ordinal() < Level.DEBUG.ordinal()) level = Level.DEBUG;
+            levels[category.ordinal()] = level.ordinal();
+            sampleRates[category.ordinal()] = Math.max(1, sampleSection == null ? 1 : sampleSection.getInt(category.name(), 1));
+        }
+
+        this.console = config.getBoolean("Tracing.Console", false);
+        int capacity = Math.max(16, config.getInt("Tracing.BufferSize", 512));
+        synchronized (this) {
+            this.times = new long[capacity];
+            this.categories = new Category[capacity];
+            this.entryLevels = new Level[capacity];
+            this.messages = new String[capacity];
+            this.next = 0;
+            this.size = 0;
+        }
+    }
+
+    /**
+     * Checks whether a message should be recorded. Applies the category's sample rate, so call it once
+     * per message and only build the message when it returns true.
+     *
+     * @param category The subsystem.
+     * @param level    The message level.
+     * @return true if the message should be traced.
+     */
+    public boolean isEnabled(Category category, Level level) {
+        int index = category.ordinal();
+        if (level == Level.OFF || level.ordinal() > levels[index]) return false;
+        int rate = sampleRates[index];
+        return rate == 1 || sampleCounters.getAndIncrement(index) % rate == 0;
+    }
+
+    /**
+     * Records a message that was already guarded by {@link #isEnabled(Category, Level)}.
+     *
+     * @param category The subsystem.
+     * @param level    The message level.
+     * @param message  The message.
+     */
+    public void trace(Category category, Level level, String message) {
+        synchronized (this) {
+            times[next] = System.currentTimeMillis();
+            categories[next] = category;
+            entryLevels[next] = level;
+            messages[next] = message;
+            next = (next + 1) % messages.length;
+            if (size < messages.length) size++;
+        }
+        if (console) {
+            plugin.getLogger().info("[" + category + "/" + level + "] " + message);
+        }
+    }
+
+    /**
+     * Records a lazily built message if the category and level are enabled.
+     *
+     * @param category The subsystem.
+     * @param level    The message level.
+     * @param message  Supplies the message only when it will be recorded.
+     */
+    public void trace(Category category, Level level, Supplier<String> message) {
+        if (isEnabled(category, level)) {
+            trace(category, level, message.get());
+        }
+    }
+
+    /**
+     * Changes a category's level at runtime.
+     *
+     * @param category The subsystem.
+     * @param level    The new level.
+     */
+    public void setLevel(Category category, Level level) {
+        levels[category.ordinal()] = level.ordinal();
+    }
+
+    /**
+     * Gets a category's current level.
+     *
+     * @param category The subsystem.
+     * @return The current level.
+     */
+    public Level getLevel(Category category) {
+        return Level.values()[levels[category.ordinal()]];
+    }
+
+    /**
+     * Returns the most recent recorded messages, oldest first.
+     *
+     * @param limit    The maximum number of messages.
+     * @param category Only return messages of this category, or null for all.
+     * @return Formatted trace lines.
+     */
+    public synchronized List<String> dump(int limit, Category category) {
+        List<String> lines = new ArrayList<>();
+        int capacity = messages.length;
+        for (int i = 0; i < size && lines.size() < limit; i++) {
+            int slot = Math.floorMod(next - 1 - i, capacity);
+            if (category != null && categories[slot] != category) continue;
+            lines.add(TIME_FORMAT.format(Instant.ofEpochMilli(times[slot])) + " [" + categories[slot] + "/" + entryLevels[slot] + "] " + messages[slot]);
+        }
+        Collections.reverse(lines);
+        return lines;
+    }
+
+    /**
+     * Discards all recorded messages.
+     */
+    public synchronized void clear() {
+        Arrays.fill(messages, null);
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * Parses a level name, falling back to a default for null or unknown names.
+     *
+     * @param name     The level name.
+     * @param fallback The default level.
+     * @return The parsed level.
+     */
+    public static Level parseLevel(String name, Level fallback) {
+        if (name == null) return fallback;
+        try {
+            return Level.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}